@@ -0,0 +1,51 @@
+package finalproject.com.example.demo;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application on a real PostgreSQL for the database benchmarks. By default that is a
+ * Testcontainers {@code postgres:16}, started once per fork and migrated by Liquibase on the
+ * first start. Set {@code BENCH_JDBC_URL} (and {@code BENCH_JDBC_USERNAME},
+ * {@code BENCH_JDBC_PASSWORD}) to run against an existing, empty database instead.
+ */
+public final class BenchmarkContext {
+
+    private static PostgreSQLContainer<?> postgres;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(datasource());
+        args.add("server.port=0");
+        args.add("spring.jpa.show-sql=false");
+        args.add("logging.level.root=WARN");
+        args.addAll(List.of(properties));
+        // Passed as command-line arguments so they win over application.properties.
+        return new SpringApplicationBuilder(FinalprojectApplication.class)
+                .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+    }
+
+    private static synchronized List<String> datasource() {
+        String url = System.getenv("BENCH_JDBC_URL");
+        if (url != null) {
+            return List.of(
+                    "spring.datasource.url=" + url,
+                    "spring.datasource.username=" + System.getenv().getOrDefault("BENCH_JDBC_USERNAME", "postgres"),
+                    "spring.datasource.password=" + System.getenv().getOrDefault("BENCH_JDBC_PASSWORD", "postgres"));
+        }
+        if (postgres == null) {
+            postgres = new PostgreSQLContainer<>("postgres:16");
+            postgres.start();
+        }
+        return List.of(
+                "spring.datasource.url=" + postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword());
+    }
+}
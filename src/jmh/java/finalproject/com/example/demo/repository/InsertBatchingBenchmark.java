@@ -0,0 +1,133 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.BenchmarkContext;
+import finalproject.com.example.demo.entity.Order;
+import finalproject.com.example.demo.entity.OrderItem;
+import finalproject.com.example.demo.entity.Product;
+import finalproject.com.example.demo.entity.Review;
+import finalproject.com.example.demo.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving {@value #ROWS} order items or reviews in one transaction through the repositories, with
+ * JDBC batching off ({@code batchSize = 1}) and at the configured size. Runs against PostgreSQL,
+ * see {@link BenchmarkContext}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 8, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    private static final int ROWS = 500;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private OrderItemRepository orderItemRepository;
+    private ReviewRepository reviewRepository;
+    private ProductRepository productRepository;
+    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+    private Long orderId;
+    private Long productId;
+    private Long categoryId;
+    private Long userId;
+    private Long maxOrderItemId;
+    private Long maxReviewId;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        orderRepository = context.getBean(OrderRepository.class);
+        orderItemRepository = context.getBean(OrderItemRepository.class);
+        reviewRepository = context.getBean(ReviewRepository.class);
+        productRepository = context.getBean(ProductRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        orderId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM t_orders", Long.class);
+        productId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM t_products", Long.class);
+        categoryId = jdbcTemplate.queryForObject("SELECT category_id FROM t_products WHERE id = ?", Long.class, productId);
+        userId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM t_users", Long.class);
+        maxOrderItemId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM t_order_items", Long.class);
+        maxReviewId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM t_reviews", Long.class);
+    }
+
+    /**
+     * Keeps the tables at their starting size so later iterations do not insert into a bigger heap.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteInsertedRows() {
+        jdbcTemplate.update("DELETE FROM t_order_items WHERE id > ?", maxOrderItemId);
+        jdbcTemplate.update("DELETE FROM t_reviews WHERE id > ?", maxReviewId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int saveOrderItems() {
+        return transactionTemplate.execute(status -> {
+            Order order = orderRepository.findInPartitionById(orderId).orElseThrow();
+            Product product = productRepository.getReferenceById(productId);
+            List<OrderItem> items = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setProduct(product);
+                item.setQuantity(1);
+                item.setPriceAtPurchase(BigDecimal.TEN);
+                item.setCategoryId(categoryId);
+                items.add(item);
+            }
+            return orderItemRepository.saveAll(items).size();
+        });
+    }
+
+    @Benchmark
+    public int saveReviews() {
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.getReferenceById(userId);
+            Product product = productRepository.getReferenceById(productId);
+            List<Review> reviews = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                Review review = new Review();
+                review.setUser(user);
+                review.setProduct(product);
+                review.setRating(5);
+                review.setComment("benchmark");
+                reviews.add(review);
+            }
+            return reviewRepository.saveAll(reviews).size();
+        });
+    }
+}
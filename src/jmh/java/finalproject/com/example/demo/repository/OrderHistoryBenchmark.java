@@ -0,0 +1,202 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.BenchmarkContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order history queries on the monthly partitioned t_orders next to an unpartitioned copy of
+ * the same rows with the indexes t_orders had before partitioning. The queries are the ones
+ * OrderSpecifications builds for a user's history, an admin status listing and a month's
+ * totals. {@code userLatestPage} and {@code orderById} have no date bound and show what
+ * partitioning costs when nothing can be pruned; {@code userRecentPage} and
+ * {@code orderInPartitionById} are how the service reads them now. The sparse user has one
+ * order every two months, so its recent window is short and the older months are read too.
+ * Runs against PostgreSQL, see {@link BenchmarkContext}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderHistoryBenchmark {
+
+    private static final int MONTHS = 24;
+    private static final int ORDERS = 600_000;
+    private static final int USERS = 500;
+    private static final int PAGE = 51;
+    private static final String UNPARTITIONED = "bench_orders_unpartitioned";
+    private static final String SPARSE_USER = "sparse-history@example.com";
+    private static final int WINDOW_MONTHS = 3;
+
+    @Param({"unpartitioned", "partitioned"})
+    public String layout;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private String table;
+    private String select;
+    private Long userId;
+    private Long sparseUserId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private LocalDateTime windowStart;
+    private Long orderId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed();
+        table = layout.equals("partitioned") ? "t_orders" : UNPARTITIONED;
+        select = "SELECT id, user_id, status, total_price, created_at, version FROM " + table;
+        userId = jdbcTemplate.queryForObject(
+                "SELECT id FROM t_users WHERE email = ?", Long.class, "history" + USERS / 2 + "@example.com");
+        sparseUserId = jdbcTemplate.queryForObject(
+                "SELECT id FROM t_users WHERE email = ?", Long.class, SPARSE_USER);
+        windowStart = LocalDateTime.now().minusMonths(WINDOW_MONTHS);
+        from = LocalDate.now().withDayOfMonth(1).minusMonths(6).atStartOfDay();
+        to = from.plusMonths(1);
+        orderId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM t_orders WHERE created_at >= ?", Long.class, from);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> userHistoryPage() {
+        return jdbcTemplate.queryForList(select
+                + " WHERE user_id = ? AND created_at >= ? AND created_at < ? ORDER BY created_at DESC, id DESC LIMIT ?",
+                userId, from, to, PAGE);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> statusPage() {
+        return jdbcTemplate.queryForList(select
+                + " WHERE status = 'PAID' AND created_at >= ? AND created_at < ? ORDER BY created_at, id LIMIT ?",
+                from, to, PAGE);
+    }
+
+    @Benchmark
+    public Map<String, Object> monthTotals() {
+        return jdbcTemplate.queryForMap("SELECT COUNT(*), SUM(total_price) FROM " + table
+                + " WHERE created_at >= ? AND created_at < ?", from, to);
+    }
+
+    @Benchmark
+    public Map<String, Object> orderById() {
+        return jdbcTemplate.queryForMap(select + " WHERE id = ?", orderId);
+    }
+
+    @Benchmark
+    public Map<String, Object> orderInPartitionById() {
+        return jdbcTemplate.queryForMap(select
+                + " WHERE id = ? AND created_at = (SELECT created_at FROM t_order_dates WHERE order_id = ?)", orderId, orderId);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> userLatestPage() {
+        return latestPage(userId);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> userRecentPage() {
+        return recentPage(userId);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sparseUserLatestPage() {
+        return latestPage(sparseUserId);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sparseUserRecentPage() {
+        return recentPage(sparseUserId);
+    }
+
+    private List<Map<String, Object>> latestPage(Long user) {
+        return jdbcTemplate.queryForList(select + " WHERE user_id = ? ORDER BY created_at DESC, id DESC LIMIT ?", user, PAGE);
+    }
+
+    /**
+     * The first page of {@code /users/me/orders} as OrderServiceImpl.findHistoryPage reads it.
+     */
+    private List<Map<String, Object>> recentPage(Long user) {
+        List<Map<String, Object>> page = new ArrayList<>(jdbcTemplate.queryForList(select
+                + " WHERE user_id = ? AND created_at >= ? ORDER BY created_at DESC, id DESC LIMIT ?", user, windowStart, PAGE));
+        if (page.size() < PAGE) {
+            page.addAll(jdbcTemplate.queryForList(select
+                            + " WHERE user_id = ? AND created_at < ? ORDER BY created_at DESC, id DESC LIMIT ?",
+                    user, windowStart, PAGE - page.size()));
+        }
+        return page;
+    }
+
+    /**
+     * Spreads {@value #ORDERS} orders of {@value #USERS} users over the last {@value #MONTHS}
+     * months, plus the sparse user's few, once per database, and copies them into the
+     * unpartitioned table.
+     */
+    private void seed() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM t_users WHERE email LIKE 'history%@example.com'", Integer.class);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        jdbcTemplate.update("""
+                INSERT INTO t_users (email, password, full_name, created_at)
+                SELECT 'history' || g || '@example.com', 'benchmark', 'History ' || g, LOCALTIMESTAMP
+                FROM generate_series(1, ?) g
+                """, USERS);
+        jdbcTemplate.queryForObject("SELECT create_order_partitions(?, ?)", Integer.class,
+                LocalDate.now().withDayOfMonth(1).minusMonths(MONTHS), MONTHS + 1);
+        jdbcTemplate.update("""
+                INSERT INTO t_orders (user_id, status, total_price, created_at)
+                SELECT u.ids[1 + g % array_length(u.ids, 1)],
+                       (ARRAY['PENDING', 'PAID', 'PROCESSING', 'SHIPPED', 'DELIVERED'])[1 + g % 5],
+                       10 + g % 500,
+                       LOCALTIMESTAMP - (g % (? * 30 * 24)) * INTERVAL '1 hour'
+                FROM generate_series(1, ?) g,
+                     (SELECT array_agg(id) AS ids FROM t_users WHERE email LIKE 'history%@example.com') u
+                """, MONTHS, ORDERS);
+        jdbcTemplate.update("""
+                INSERT INTO t_users (email, password, full_name, created_at)
+                VALUES (?, 'benchmark', 'Sparse history', LOCALTIMESTAMP)
+                """, SPARSE_USER);
+        jdbcTemplate.update("""
+                INSERT INTO t_orders (user_id, status, total_price, created_at)
+                SELECT (SELECT id FROM t_users WHERE email = ?), 'DELIVERED', 10 + g, LOCALTIMESTAMP - g * INTERVAL '2 months'
+                FROM generate_series(1, ?) g
+                """, SPARSE_USER, MONTHS / 2);
+        jdbcTemplate.execute("CREATE TABLE " + UNPARTITIONED + " AS SELECT * FROM t_orders");
+        jdbcTemplate.execute("ALTER TABLE " + UNPARTITIONED + " ADD PRIMARY KEY (id)");
+        jdbcTemplate.execute("CREATE INDEX ON " + UNPARTITIONED + " (user_id, created_at DESC, id DESC)");
+        jdbcTemplate.execute("CREATE INDEX ON " + UNPARTITIONED + " (status, created_at, id)");
+        jdbcTemplate.execute("CREATE INDEX ON " + UNPARTITIONED + " (created_at, id)");
+        jdbcTemplate.execute("VACUUM ANALYZE t_orders");
+        jdbcTemplate.execute("VACUUM ANALYZE " + UNPARTITIONED);
+        jdbcTemplate.execute("VACUUM ANALYZE t_order_dates");
+    }
+}
@@ -0,0 +1,117 @@
+package finalproject.com.example.demo.security.jwt;
+
+import finalproject.com.example.demo.cache.UserDetailsCache;
+import finalproject.com.example.demo.cache.VerifiedTokenCache;
+import finalproject.com.example.demo.entity.Role;
+import finalproject.com.example.demo.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request in {@link JwtAuthFilter}, with and without the verified
+ * token cache, next to the old way of building a parser for every parse. Run with
+ * {@code ./gradlew jmh -PjmhIncludes=JwtAuthFilterBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-that-is-long-enough-for-hs256";
+    private static final FilterChain NO_OP = (request, response) -> {
+    };
+
+    private JwtAuthFilter cachedFilter;
+    private JwtAuthFilter uncachedFilter;
+    private JwtService uncachedService;
+    private SecretKey key;
+    private String token;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        TokenRevocations noRevocations = new TokenRevocations(null) {
+            @Override
+            public boolean isRevoked(long userId, int tokenVersion) {
+                return false;
+            }
+        };
+        UserDetailsCache userDetails = new UserDetailsCache(100, Duration.ofMinutes(5));
+
+        JwtService cached = new JwtService(SECRET, 3_600_000, new VerifiedTokenCache(10_000));
+        uncachedService = new JwtService(SECRET, 3_600_000, new VerifiedTokenCache(0));
+        cachedFilter = new JwtAuthFilter(cached, null, userDetails, noRevocations);
+        uncachedFilter = new JwtAuthFilter(uncachedService, null, userDetails, noRevocations);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        Role role = new Role();
+        role.setRole("ROLE_USER");
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("buyer@example.com");
+        user.setRoles(List.of(role));
+        token = cached.generateToken(user);
+
+        request = new MockHttpServletRequest("GET", "/orders");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    @Benchmark
+    public Authentication filterWithVerifiedTokenCache() throws Exception {
+        return authenticate(cachedFilter);
+    }
+
+    @Benchmark
+    public Authentication filterWithoutVerifiedTokenCache() throws Exception {
+        return authenticate(uncachedFilter);
+    }
+
+    /**
+     * One parse with the service's shared parser and no cache.
+     */
+    @Benchmark
+    public Claims parseWithSharedParser() {
+        return uncachedService.parseClaims(token);
+    }
+
+    /**
+     * One parse with a parser built for the call, as every parse was done before.
+     */
+    @Benchmark
+    public Claims parseWithNewParser() {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    private Authentication authenticate(JwtAuthFilter filter) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
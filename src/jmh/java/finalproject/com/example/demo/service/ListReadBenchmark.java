@@ -0,0 +1,151 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.BenchmarkContext;
+import finalproject.com.example.demo.dto.order.OrderFilter;
+import finalproject.com.example.demo.dto.order.OrderResponse;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
+import finalproject.com.example.demo.dto.product.ProductFilter;
+import finalproject.com.example.demo.dto.product.ProductResponse;
+import finalproject.com.example.demo.dto.review.ReviewResponse;
+import finalproject.com.example.demo.mapper.OrderMapper;
+import finalproject.com.example.demo.mapper.ProductMapper;
+import finalproject.com.example.demo.mapper.ReviewMapper;
+import finalproject.com.example.demo.repository.OrderRepository;
+import finalproject.com.example.demo.repository.ProductRepository;
+import finalproject.com.example.demo.repository.ReviewRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One list page of {@value #PAGE_SIZE} products, orders or reviews, read the current way
+ * (constructor-expression queries straight into the responses) and the old way (managed
+ * entities mapped afterwards). Run with {@code -PjmhProfilers=gc} to see allocation per page.
+ * Runs against PostgreSQL, see {@link BenchmarkContext}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListReadBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int ROWS = 20_000;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private OrderService orderService;
+    private ReviewService reviewService;
+    private ProductRepository productRepository;
+    private OrderRepository orderRepository;
+    private ReviewRepository reviewRepository;
+    private ProductMapper productMapper;
+    private OrderMapper orderMapper;
+    private ReviewMapper reviewMapper;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        productService = context.getBean(ProductService.class);
+        orderService = context.getBean(OrderService.class);
+        reviewService = context.getBean(ReviewService.class);
+        productRepository = context.getBean(ProductRepository.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        reviewRepository = context.getBean(ReviewRepository.class);
+        productMapper = context.getBean(ProductMapper.class);
+        orderMapper = context.getBean(OrderMapper.class);
+        reviewMapper = context.getBean(ReviewMapper.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<ProductResponse> productsProjected() {
+        return productService.findPage(new ProductFilter(), firstPage());
+    }
+
+    @Benchmark
+    public List<ProductResponse> productsHydrated() {
+        return transactionTemplate.execute(status ->
+                productMapper.toResponse(productRepository.findByIdGreaterThan(0L, entityPage())));
+    }
+
+    @Benchmark
+    public CursorPage<OrderResponse> ordersProjected() {
+        return orderService.findPage(new OrderFilter(), firstPage());
+    }
+
+    @Benchmark
+    public List<OrderResponse> ordersHydrated() {
+        return transactionTemplate.execute(status ->
+                orderMapper.toResponse(orderRepository.findByIdGreaterThan(0L, entityPage())));
+    }
+
+    @Benchmark
+    public CursorPage<ReviewResponse> reviewsProjected() {
+        return reviewService.findPage(firstPage());
+    }
+
+    @Benchmark
+    public List<ReviewResponse> reviewsHydrated() {
+        return transactionTemplate.execute(status ->
+                reviewMapper.toResponse(reviewRepository.findByIdGreaterThan(0L, entityPage())));
+    }
+
+    private static KeysetRequest firstPage() {
+        return KeysetRequest.of(null, PAGE_SIZE, null);
+    }
+
+    private static PageRequest entityPage() {
+        return PageRequest.of(0, PAGE_SIZE + 1, Sort.by("id"));
+    }
+
+    /**
+     * Tops each table up to {@value #ROWS} rows, so a page is read from a realistically sized
+     * index rather than a handful of seed rows.
+     */
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("""
+                INSERT INTO t_products (name, description, price, category_id, seller_id, status)
+                SELECT 'Product ' || g, 'Benchmark product ' || g, 10 + g % 500,
+                       (SELECT MIN(id) FROM t_categories), (SELECT MIN(id) FROM t_users), 'ACTIVE'
+                FROM generate_series((SELECT COUNT(*) FROM t_products) + 1, ?) g
+                """, ROWS);
+        jdbcTemplate.update("""
+                INSERT INTO t_orders (user_id, status, total_price, created_at)
+                SELECT (SELECT MIN(id) FROM t_users), 'PAID', 10 + g % 500, LOCALTIMESTAMP
+                FROM generate_series((SELECT COUNT(*) FROM t_orders) + 1, ?) g
+                """, ROWS);
+        jdbcTemplate.update("""
+                INSERT INTO t_reviews (user_id, product_id, rating, comment)
+                SELECT (SELECT MIN(id) FROM t_users), (SELECT MIN(id) FROM t_products), 1 + g % 5, 'Review ' || g
+                FROM generate_series((SELECT COUNT(*) FROM t_reviews) + 1, ?) g
+                """, ROWS);
+        jdbcTemplate.execute("ANALYZE t_products, t_orders, t_reviews");
+    }
+}
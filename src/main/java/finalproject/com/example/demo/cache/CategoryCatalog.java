@@ -0,0 +1,70 @@
+package finalproject.com.example.demo.cache;
+
+import finalproject.com.example.demo.mapper.CategoryMapper;
+import finalproject.com.example.demo.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Holds the current {@link CategorySnapshot}. Writes on this node swap in a new snapshot
+ * after they commit; writes on other nodes are picked up by the periodic refresh, which
+ * only reloads when the table's count or newest updated_at has moved.
+ */
+@Component
+public class CategoryCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryCatalog.class);
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+
+    private volatile CategorySnapshot snapshot;
+
+    public CategoryCatalog(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+        this.categoryRepository = categoryRepository;
+        this.categoryMapper = categoryMapper;
+    }
+
+    public CategorySnapshot snapshot() {
+        CategorySnapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    public synchronized CategorySnapshot reload() {
+        CategorySnapshot fresh = CategorySnapshot.of(categoryMapper.toResponse(categoryRepository.findAll()));
+        snapshot = fresh;
+        log.debug("Category snapshot reloaded with {} categories", fresh.all().size());
+        return fresh;
+    }
+
+    /**
+     * Reloads once the surrounding transaction commits, or right away when there is none.
+     */
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.cache.categories.refresh-interval:30s}",
+            initialDelayString = "${app.cache.categories.refresh-interval:30s}"
+    )
+    public void refresh() {
+        CategorySnapshot current = snapshot;
+        if (current == null || !current.getStamp().equals(categoryRepository.findStamp())) {
+            reload();
+        }
+    }
+}
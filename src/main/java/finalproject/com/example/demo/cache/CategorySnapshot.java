@@ -0,0 +1,96 @@
+package finalproject.com.example.demo.cache;
+
+import finalproject.com.example.demo.dto.category.CategoryResponse;
+import finalproject.com.example.demo.dto.page.CollectionStamp;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Immutable view of all categories. Built once per change and then shared by every
+ * reader, so lookups and pages never touch the database or take a lock.
+ */
+public final class CategorySnapshot {
+
+    private final Map<Long, CategoryResponse> byId;
+    private final List<CategoryResponse> ascending;
+    private final List<CategoryResponse> descending;
+    private final long[] ids;
+    private final CollectionStamp stamp;
+
+    private CategorySnapshot(List<CategoryResponse> ascending) {
+        Map<Long, CategoryResponse> index = new HashMap<>();
+        long[] sortedIds = new long[ascending.size()];
+        Instant lastModified = null;
+        for (int i = 0; i < ascending.size(); i++) {
+            CategoryResponse category = ascending.get(i);
+            index.put(category.getId(), category);
+            sortedIds[i] = category.getId();
+            Instant updatedAt = category.getUpdatedAt();
+            if (updatedAt != null && (lastModified == null || updatedAt.isAfter(lastModified))) {
+                lastModified = updatedAt;
+            }
+        }
+        List<CategoryResponse> reversed = new ArrayList<>(ascending);
+        Collections.reverse(reversed);
+
+        this.byId = Collections.unmodifiableMap(index);
+        this.ascending = Collections.unmodifiableList(ascending);
+        this.descending = Collections.unmodifiableList(reversed);
+        this.ids = sortedIds;
+        this.stamp = new CollectionStamp((long) ascending.size(), lastModified);
+    }
+
+    public static CategorySnapshot of(List<CategoryResponse> categories) {
+        List<CategoryResponse> sorted = new ArrayList<>(categories);
+        sorted.sort(Comparator.comparing(CategoryResponse::getId));
+        return new CategorySnapshot(sorted);
+    }
+
+    public Optional<CategoryResponse> find(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<CategoryResponse> all() {
+        return ascending;
+    }
+
+    public CollectionStamp getStamp() {
+        return stamp;
+    }
+
+    /**
+     * Same contract as the repository backed keyset pages, served from the sorted lists.
+     */
+    public CursorPage<CategoryResponse> page(KeysetRequest request) {
+        if (!"id".equals(request.getSortProperty())) {
+            throw request.unsupportedSort();
+        }
+
+        List<CategoryResponse> ordered = request.isDescending() ? descending : ascending;
+        int from = request.hasCursor() ? startAfter(request.getAfterId(), request.isDescending()) : 0;
+        int to = Math.min(ordered.size(), from + request.getLimit() + 1);
+        return CursorPage.of(ordered.subList(from, to), request.getLimit(), Function.identity(),
+                last -> KeysetRequest.encodeCursor(last.getId()));
+    }
+
+    private int startAfter(long afterId, boolean descendingOrder) {
+        int found = Arrays.binarySearch(ids, afterId);
+        int insertion = found >= 0 ? found : -found - 1;
+        if (!descendingOrder) {
+            return found >= 0 ? found + 1 : insertion;
+        }
+        int lastBelow = insertion - 1;
+        return ids.length - 1 - lastBelow;
+    }
+}
@@ -0,0 +1,27 @@
+package finalproject.com.example.demo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import finalproject.com.example.demo.dto.cache.CacheStatsResponse;
+
+/**
+ * Implemented by in-process caches whose counters are exposed under {@code /admin/caches}.
+ */
+public interface MonitoredCache {
+
+    String getName();
+
+    CacheStatsResponse getStats();
+
+    static CacheStatsResponse statsOf(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(
+                name,
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package finalproject.com.example.demo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import finalproject.com.example.demo.dto.cache.CacheStatsResponse;
+import finalproject.com.example.demo.dto.product.ProductResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for product details. Caffeine evicts by W-TinyLFU once
+ * {@code app.cache.products.max-size} is reached; entries also expire after the TTL.
+ */
+@Component
+public class ProductCache implements MonitoredCache {
+
+    private final Cache<Long, ProductResponse> cache;
+
+    public ProductCache(
+            @Value("${app.cache.products.max-size:10000}") long maxSize,
+            @Value("${app.cache.products.ttl:10m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached product or loads it; misses for unknown ids are not cached.
+     */
+    public Optional<ProductResponse> get(Long id, Function<Long, Optional<ProductResponse>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    @Override
+    public String getName() {
+        return "products";
+    }
+
+    @Override
+    public CacheStatsResponse getStats() {
+        return MonitoredCache.statsOf(getName(), cache);
+    }
+}
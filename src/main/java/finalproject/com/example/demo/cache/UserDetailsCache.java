@@ -0,0 +1,62 @@
+package finalproject.com.example.demo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import finalproject.com.example.demo.dto.cache.CacheStatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Principals resolved for bearer tokens that do not carry their roles (issued before tokens
+ * had role claims), keyed by email, so such a request does not load the user and its roles
+ * again. {@code UserServiceImpl} invalidates an entry as soon as
+ * the user is changed, blocked or deleted; the TTL only bounds how long an entry can outlive a
+ * change made directly in the database.
+ * <p>
+ * Invalidation waits for a load of the same key that is already running and then drops its
+ * result, so a load that read the old row can never be cached after the change was saved.
+ */
+@Component
+public class UserDetailsCache implements MonitoredCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(
+            @Value("${app.cache.users.max-size:10000}") long maxSize,
+            @Value("${app.cache.users.ttl:5m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached principal or loads it. A loader that throws (unknown or blocked user)
+     * leaves nothing behind, so the next request asks the database again.
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "users";
+    }
+
+    @Override
+    public CacheStatsResponse getStats() {
+        return MonitoredCache.statsOf(getName(), cache);
+    }
+}
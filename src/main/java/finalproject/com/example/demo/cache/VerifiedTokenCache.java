@@ -0,0 +1,94 @@
+package finalproject.com.example.demo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import finalproject.com.example.demo.dto.cache.CacheStatsResponse;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Claims of bearer tokens whose signature was already checked, so a client sending the same
+ * token again skips decoding, JSON parsing and the HMAC. Entries are keyed by a SHA-256 of the
+ * token rather than the token itself and expire exactly when the token does, so an expired
+ * token is never served from here. {@code security.jwt.cache.max-size=0} turns the cache off.
+ */
+@Component
+public class VerifiedTokenCache implements MonitoredCache {
+
+    private final Cache<String, Claims> cache;
+
+    public VerifiedTokenCache(@Value("${security.jwt.cache.max-size:10000}") long maxSize) {
+        this.cache = maxSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfter(new UntilTokenExpiry())
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Returns the cached claims or runs {@code verifier}; a token that fails verification is
+     * not cached and the verifier's exception propagates.
+     */
+    public Claims get(String token, Function<String, Claims> verifier) {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+        return cache.get(hash(token), key -> verifier.apply(token));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "tokens";
+    }
+
+    @Override
+    public CacheStatsResponse getStats() {
+        if (cache == null) {
+            return new CacheStatsResponse(getName(), 0, 0, 0, 0, 0);
+        }
+        return MonitoredCache.statsOf(getName(), cache);
+    }
+
+    private static class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package finalproject.com.example.demo.config;
 
 import finalproject.com.example.demo.security.jwt.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -42,6 +43,9 @@ public class SecurityConfig {
 
         http.authorizeHttpRequests(auth -> auth
 
+                // ERRORS: the error dispatch carries no token, so let it through to keep the original status
+                .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
+
                 // AUTH
                 .requestMatchers("/auth/**").permitAll()
                 // PUBLIC
@@ -0,0 +1,28 @@
+package finalproject.com.example.demo.controller;
+
+import finalproject.com.example.demo.cache.MonitoredCache;
+import finalproject.com.example.demo.dto.cache.CacheStatsResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/caches")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminCacheController {
+
+    private final List<MonitoredCache> caches;
+
+    public AdminCacheController(List<MonitoredCache> caches) {
+        this.caches = caches;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CacheStatsResponse>> getStats() {
+        return ResponseEntity.ok(caches.stream().map(MonitoredCache::getStats).toList());
+    }
+}
@@ -0,0 +1,26 @@
+package finalproject.com.example.demo.controller;
+
+import finalproject.com.example.demo.dto.review.RatingRebuildReport;
+import finalproject.com.example.demo.service.ProductRatingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/ratings")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminRatingController {
+
+    private final ProductRatingService productRatingService;
+
+    public AdminRatingController(ProductRatingService productRatingService) {
+        this.productRatingService = productRatingService;
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<RatingRebuildReport> rebuild() {
+        return ResponseEntity.ok(productRatingService.rebuild());
+    }
+}
@@ -0,0 +1,47 @@
+package finalproject.com.example.demo.controller;
+
+import finalproject.com.example.demo.dto.report.SalesRebuildReport;
+import finalproject.com.example.demo.dto.report.SalesReportRow;
+import finalproject.com.example.demo.service.SalesRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/reports")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminReportController {
+
+    private final SalesRollupService salesRollupService;
+
+    public AdminReportController(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    @GetMapping("/sales")
+    public ResponseEntity<List<SalesReportRow>> getSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(salesRollupService.report(from, to, groupBy, status, limit));
+    }
+
+    @PostMapping("/sales/rebuild")
+    public ResponseEntity<SalesRebuildReport> rebuild(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(salesRollupService.rebuild(from, to));
+    }
+}
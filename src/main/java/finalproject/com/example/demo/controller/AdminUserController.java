@@ -1,5 +1,7 @@
 package finalproject.com.example.demo.controller;
 
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.dto.user.AdminCreateUserRequest;
 import finalproject.com.example.demo.dto.user.UserResponse;
 import finalproject.com.example.demo.service.UserService;
@@ -9,8 +11,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/admin/users")
 @PreAuthorize("hasRole('ADMIN')")
@@ -23,8 +23,12 @@ public class AdminUserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        return ResponseEntity.ok(userService.findAllUsers());
+    public ResponseEntity<CursorPage<UserResponse>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort
+    ) {
+        return ResponseEntity.ok(userService.findUsersPage(KeysetRequest.of(cursor, limit, sort)));
     }
 
     @PostMapping
@@ -2,13 +2,17 @@ package finalproject.com.example.demo.controller;
 
 import finalproject.com.example.demo.dto.category.CategoryRequest;
 import finalproject.com.example.demo.dto.category.CategoryResponse;
+import finalproject.com.example.demo.dto.category.CategoryTreeResponse;
+import finalproject.com.example.demo.dto.page.CollectionStamp;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.service.CategoryService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
-import java.util.List;
 
 @RestController
 @RequestMapping("/categories")
@@ -22,14 +26,35 @@ public class CategoryController {
 
     // Public (already allowed in SecurityConfig)
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAll() {
-        return ResponseEntity.ok(categoryService.findAll());
+    public ResponseEntity<CursorPage<CategoryResponse>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            WebRequest webRequest
+    ) {
+        CollectionStamp stamp = categoryService.stamp();
+        String eTag = stamp.toETag("categories");
+        if (ConditionalRequests.notModified(webRequest, eTag, stamp)) {
+            return null;
+        }
+        return ConditionalRequests.ok(categoryService.findPage(KeysetRequest.of(cursor, limit, sort)), eTag, stamp);
     }
 
     // Public
     @GetMapping("/{id}")
     public ResponseEntity<CategoryResponse> getById(@PathVariable Long id) {
         return categoryService.findById(id)
+                .map(category -> ResponseEntity.ok()
+                        .eTag(ConditionalRequests.eTag("category", category.getId(), category.getVersion()))
+                        .lastModified(category.getUpdatedAt())
+                        .body(category))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Public
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<CategoryTreeResponse> getTree(@PathVariable Long id) {
+        return categoryService.findTree(id)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
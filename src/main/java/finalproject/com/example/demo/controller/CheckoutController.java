@@ -0,0 +1,32 @@
+package finalproject.com.example.demo.controller;
+
+import finalproject.com.example.demo.dto.checkout.CheckoutRequest;
+import finalproject.com.example.demo.dto.checkout.CheckoutResponse;
+import finalproject.com.example.demo.service.CheckoutService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/checkout")
+public class CheckoutController {
+
+    private final CheckoutService checkoutService;
+
+    public CheckoutController(CheckoutService checkoutService) {
+        this.checkoutService = checkoutService;
+    }
+
+    // ADMIN and USER can check out their own cart
+    @PostMapping
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_USER')")
+    public ResponseEntity<CheckoutResponse> checkout(@Valid @RequestBody CheckoutRequest request) {
+        CheckoutResponse created = checkoutService.checkout(request);
+        return ResponseEntity
+                .created(URI.create("/orders/" + created.getOrderId()))
+                .body(created);
+    }
+}
@@ -0,0 +1,54 @@
+package finalproject.com.example.demo.controller;
+
+import finalproject.com.example.demo.dto.page.CollectionStamp;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Validators for catalog reads. Single resources return their ETag and Last-Modified on
+ * the ResponseEntity and let Spring answer 304. Lists with a cheap stamp check it up front so
+ * an unchanged page is never queried; lists without one are tagged from the page itself.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    static String eTag(String scope, Long id, Long version) {
+        return "\"" + scope + "-" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Tag of one page built from what it shows: every row's tag (id and version) and the next
+     * cursor. Needs no query besides the page, and a match still skips writing the body.
+     */
+    static <T> String eTag(String scope, CursorPage<T> page, Function<T, String> rowTag) {
+        StringBuilder content = new StringBuilder();
+        for (T item : page.getItems()) {
+            content.append(rowTag.apply(item)).append(',');
+        }
+        content.append(page.getNext());
+        return "\"" + scope + "-" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    static boolean notModified(WebRequest webRequest, String eTag, CollectionStamp stamp) {
+        Instant lastModified = stamp.getLastModified();
+        return lastModified == null
+                ? webRequest.checkNotModified(eTag)
+                : webRequest.checkNotModified(eTag, lastModified.toEpochMilli());
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String eTag, CollectionStamp stamp) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag);
+        if (stamp.getLastModified() != null) {
+            builder.lastModified(stamp.getLastModified());
+        }
+        return builder.body(body);
+    }
+}
@@ -1,30 +1,45 @@
 package finalproject.com.example.demo.controller;
 
+import finalproject.com.example.demo.dto.order.OrderDetailResponse;
+import finalproject.com.example.demo.dto.order.OrderFilter;
 import finalproject.com.example.demo.dto.order.OrderRequest;
 import finalproject.com.example.demo.dto.order.OrderResponse;
+import finalproject.com.example.demo.dto.order.OrderStatusRequest;
+import finalproject.com.example.demo.dto.order.OrderStatusResponse;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
+import finalproject.com.example.demo.entity.User;
 import finalproject.com.example.demo.service.OrderService;
+import finalproject.com.example.demo.service.UserService;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
-import java.util.List;
 
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
     private final OrderService orderService;
+    private final UserService userService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, UserService userService) {
         this.orderService = orderService;
+        this.userService = userService;
     }
 
     // ADMIN can see all orders
     @GetMapping
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<List<OrderResponse>> getAll() {
-        return ResponseEntity.ok(orderService.findAll());
+    public ResponseEntity<CursorPage<OrderResponse>> getAll(
+            OrderFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort
+    ) {
+        return ResponseEntity.ok(orderService.findPage(filter, KeysetRequest.of(cursor, limit, sort)));
     }
 
     // ADMIN and USER can see a specific order
@@ -36,6 +51,17 @@ public class OrderController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // Order with its items and product names in one response; USER only sees their own orders
+    @GetMapping("/{id}/full")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_USER')")
+    public ResponseEntity<OrderDetailResponse> getFullById(@PathVariable Long id) {
+        User current = userService.getCurrentUser();
+        return orderService.findDetailById(id)
+                .filter(order -> isOwnerOrAdmin(current, order.getUserId()))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     // ADMIN and USER can create orders
     @PostMapping
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_USER')")
@@ -58,6 +84,18 @@ public class OrderController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // ADMIN only; 409 when the version is stale or the lifecycle forbids the move
+    @PatchMapping("/{id}/status")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<OrderStatusResponse> changeStatus(
+            @PathVariable Long id,
+            @Valid @RequestBody OrderStatusRequest request
+    ) {
+        return orderService.changeStatus(id, request)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     // ADMIN only
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
@@ -65,6 +103,15 @@ public class OrderController {
         orderService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Someone else's order answers 404 like a missing one, so ids of other users' orders are not revealed
+    private static boolean isOwnerOrAdmin(User current, Long ownerId) {
+        if (current == null) {
+            return false;
+        }
+        return current.getId().equals(ownerId)
+                || current.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+    }
 }
 
 
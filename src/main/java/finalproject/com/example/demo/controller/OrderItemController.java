@@ -2,12 +2,13 @@ package finalproject.com.example.demo.controller;
 
 import finalproject.com.example.demo.dto.orderitem.OrderItemRequest;
 import finalproject.com.example.demo.dto.orderitem.OrderItemResponse;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.service.OrderItemService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
-import java.util.List;
 
 @RestController
 @RequestMapping("/order-items")
@@ -20,8 +21,12 @@ public class OrderItemController {
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderItemResponse>> getAll() {
-        return ResponseEntity.ok(orderItemService.findAll());
+    public ResponseEntity<CursorPage<OrderItemResponse>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort
+    ) {
+        return ResponseEntity.ok(orderItemService.findPage(KeysetRequest.of(cursor, limit, sort)));
     }
 
     @GetMapping("/{id}")
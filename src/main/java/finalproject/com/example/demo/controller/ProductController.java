@@ -1,12 +1,29 @@
 package finalproject.com.example.demo.controller;
 
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
+import finalproject.com.example.demo.dto.product.ProductFileFormat;
+import finalproject.com.example.demo.dto.product.ProductFilter;
+import finalproject.com.example.demo.dto.product.ProductImportReport;
 import finalproject.com.example.demo.dto.product.ProductRequest;
 import finalproject.com.example.demo.dto.product.ProductResponse;
+import finalproject.com.example.demo.dto.product.ProductSuggestion;
+import finalproject.com.example.demo.dto.stock.StockRequest;
+import finalproject.com.example.demo.dto.stock.StockResponse;
+import finalproject.com.example.demo.service.ProductExportService;
+import finalproject.com.example.demo.service.ProductImportService;
 import finalproject.com.example.demo.service.ProductService;
+import finalproject.com.example.demo.service.StockService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 
@@ -15,22 +32,60 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final StockService stockService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductImportService productImportService, ProductExportService productExportService, StockService stockService) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.productExportService = productExportService;
+        this.stockService = stockService;
     }
 
     // Public
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAll() {
-        return ResponseEntity.ok(productService.findAll());
+    public ResponseEntity<CursorPage<ProductResponse>> getAll(
+            ProductFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            WebRequest webRequest
+    ) {
+        CursorPage<ProductResponse> page = productService.findPage(filter, KeysetRequest.of(cursor, limit, sort));
+        String eTag = ConditionalRequests.eTag("products", page, product -> product.getId() + ":" + product.getVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(page);
+    }
+
+    // Public
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductResponse>> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(productService.search(query, limit));
+    }
+
+    // Public
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestion>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(productService.suggest(prefix, limit));
     }
 
     // Public
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getById(@PathVariable Long id) {
         return productService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(product -> ResponseEntity.ok()
+                        .eTag(ConditionalRequests.eTag("product", product.getId(), product.getVersion()))
+                        .lastModified(product.getUpdatedAt())
+                        .body(product))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -42,6 +97,30 @@ public class ProductController {
         return ResponseEntity.created(URI.create("/products/" + created.getId())).body(created);
     }
 
+    // Admin or Seller
+    @PostMapping(value = "/import", consumes = {ProductFileFormat.NDJSON_VALUE, ProductFileFormat.CSV_VALUE})
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_SELLER')")
+    public ResponseEntity<ProductImportReport> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) throws IOException {
+        return ResponseEntity.ok(productImportService.importProducts(body, ProductFileFormat.fromContentType(contentType)));
+    }
+
+    // Admin or Seller
+    @GetMapping(value = "/export", produces = {ProductFileFormat.NDJSON_VALUE, ProductFileFormat.CSV_VALUE})
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_SELLER')")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        ProductFileFormat format = ProductFileFormat.fromAccept(accept);
+        StreamingResponseBody body = output -> productExportService.exportProducts(output, format);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + format.getExtension() + "\"")
+                .body(body);
+    }
+
     // Admin or Seller
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_SELLER')")
@@ -54,6 +133,26 @@ public class ProductController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // Public
+    @GetMapping("/{id}/stock")
+    public ResponseEntity<StockResponse> getStock(@PathVariable Long id) {
+        return stockService.getStock(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Admin or Seller
+    @PutMapping("/{id}/stock")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_SELLER')")
+    public ResponseEntity<StockResponse> setStock(
+            @PathVariable Long id,
+            @Valid @RequestBody StockRequest request
+    ) {
+        return stockService.setStock(id, request)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     // Admin or Seller
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_SELLER')")
@@ -0,0 +1,28 @@
+package finalproject.com.example.demo.controller;
+
+import finalproject.com.example.demo.dto.review.ProductRatingResponse;
+import finalproject.com.example.demo.service.ProductRatingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/products/{productId}/rating")
+public class ProductRatingController {
+
+    private final ProductRatingService productRatingService;
+
+    public ProductRatingController(ProductRatingService productRatingService) {
+        this.productRatingService = productRatingService;
+    }
+
+    // Public
+    @GetMapping
+    public ResponseEntity<ProductRatingResponse> getRating(@PathVariable Long productId) {
+        return productRatingService.findByProductId(productId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
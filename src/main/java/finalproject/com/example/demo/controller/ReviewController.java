@@ -1,5 +1,7 @@
 package finalproject.com.example.demo.controller;
 
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.dto.review.ReviewRequest;
 import finalproject.com.example.demo.dto.review.ReviewResponse;
 import finalproject.com.example.demo.service.ReviewService;
@@ -8,7 +10,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
-import java.util.List;
 
 @RestController
 @RequestMapping("/reviews")
@@ -22,8 +23,12 @@ public class ReviewController {
 
     // Public
     @GetMapping
-    public ResponseEntity<List<ReviewResponse>> getAll() {
-        return ResponseEntity.ok(reviewService.findAll());
+    public ResponseEntity<CursorPage<ReviewResponse>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort
+    ) {
+        return ResponseEntity.ok(reviewService.findPage(KeysetRequest.of(cursor, limit, sort)));
     }
 
     // Public
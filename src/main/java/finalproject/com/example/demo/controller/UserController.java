@@ -1,8 +1,13 @@
 package finalproject.com.example.demo.controller;
 
+import finalproject.com.example.demo.dto.order.OrderFilter;
+import finalproject.com.example.demo.dto.order.OrderResponse;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.dto.user.ChangePasswordRequest;
 import finalproject.com.example.demo.dto.user.UpdateProfileRequest;
 import finalproject.com.example.demo.dto.user.UserResponse;
+import finalproject.com.example.demo.service.OrderService;
 import finalproject.com.example.demo.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -14,9 +19,11 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final OrderService orderService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, OrderService orderService) {
         this.userService = userService;
+        this.orderService = orderService;
     }
 
     @GetMapping("/me")
@@ -37,6 +44,19 @@ public class UserController {
         userService.changePassword(req.getOldPassword(), req.getNewPassword(), req.getRepeatNewPassword());
         return ResponseEntity.ok("Password has been changed successfully!");
     }
+
+    // Order history of the signed-in user, newest first unless sort says otherwise
+    @GetMapping("/me/orders")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<OrderResponse>> myOrders(
+            OrderFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "newest") String sort
+    ) {
+        filter.setUserId(userService.getCurrentUserProfile().getId());
+        return ResponseEntity.ok(orderService.findHistoryPage(filter, KeysetRequest.of(cursor, limit, sort)));
+    }
 }
 
 
@@ -9,4 +9,5 @@ public class CategoryRequest {
 
     private String name;
     private String description;
+    private Long parentId;
 }
\ No newline at end of file
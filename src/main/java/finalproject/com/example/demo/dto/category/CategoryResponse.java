@@ -3,6 +3,8 @@ package finalproject.com.example.demo.dto.category;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+
 @Getter
 @Setter
 public class CategoryResponse {
@@ -10,4 +12,7 @@ public class CategoryResponse {
     private Long id;
     private String name;
     private String description;
+    private Long parentId;
+    private Long version;
+    private Instant updatedAt;
 }
\ No newline at end of file
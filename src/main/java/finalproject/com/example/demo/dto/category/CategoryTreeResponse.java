@@ -0,0 +1,18 @@
+package finalproject.com.example.demo.dto.category;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class CategoryTreeResponse {
+
+    private Long id;
+    private String name;
+    private String description;
+    private int depth;
+    private List<CategoryTreeResponse> children = new ArrayList<>();
+}
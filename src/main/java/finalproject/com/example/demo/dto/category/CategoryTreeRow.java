@@ -0,0 +1,15 @@
+package finalproject.com.example.demo.dto.category;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CategoryTreeRow {
+
+    private Long id;
+    private Long parentId;
+    private String name;
+    private String description;
+    private Integer depth;
+}
@@ -0,0 +1,24 @@
+package finalproject.com.example.demo.dto.checkout;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutItemRequest {
+
+    @NotNull
+    private Long productId;
+
+    @NotNull
+    @Min(1)
+    @Max(1000)
+    private Integer quantity;
+}
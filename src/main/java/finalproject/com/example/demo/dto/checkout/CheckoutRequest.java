@@ -0,0 +1,19 @@
+package finalproject.com.example.demo.dto.checkout;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class CheckoutRequest {
+
+    @NotEmpty
+    @Size(max = 100)
+    private List<@Valid CheckoutItemRequest> items = new ArrayList<>();
+}
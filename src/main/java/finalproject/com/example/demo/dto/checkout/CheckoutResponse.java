@@ -0,0 +1,25 @@
+package finalproject.com.example.demo.dto.checkout;
+
+import finalproject.com.example.demo.dto.orderitem.OrderItemResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutResponse {
+
+    private Long orderId;
+    private Long userId;
+    private String status;
+    private BigDecimal totalPrice;
+    private LocalDateTime createdAt;
+    private List<OrderItemResponse> items;
+}
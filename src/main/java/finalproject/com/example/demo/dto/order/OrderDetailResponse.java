@@ -0,0 +1,22 @@
+package finalproject.com.example.demo.dto.order;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class OrderDetailResponse {
+
+    private Long id;
+    private Long userId;
+    private String status;
+    private BigDecimal totalPrice;
+    private LocalDateTime createdAt;
+    private Long version;
+    private List<OrderLineResponse> items = new ArrayList<>();
+}
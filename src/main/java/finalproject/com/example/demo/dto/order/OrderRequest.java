@@ -14,4 +14,9 @@ public class OrderRequest {
     private String status;
     private BigDecimal totalPrice;
     private LocalDateTime createdAt;
+
+    /**
+     * Optional; when present the update is rejected if the order has changed since this version.
+     */
+    private Long version;
 }
\ No newline at end of file
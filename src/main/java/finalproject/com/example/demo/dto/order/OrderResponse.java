@@ -1,6 +1,8 @@
 package finalproject.com.example.demo.dto.order;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
@@ -8,6 +10,8 @@ import java.time.LocalDateTime;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class OrderResponse {
 
     private Long id;
@@ -15,4 +19,5 @@ public class OrderResponse {
     private String status;
     private BigDecimal totalPrice;
     private LocalDateTime createdAt;
+    private Long version;
 }
\ No newline at end of file
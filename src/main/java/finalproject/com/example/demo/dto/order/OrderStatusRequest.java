@@ -0,0 +1,20 @@
+package finalproject.com.example.demo.dto.order;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class OrderStatusRequest {
+
+    @NotBlank
+    private String status;
+
+    /**
+     * The version the client last read; the change is rejected if the order has moved on since.
+     */
+    @NotNull
+    private Long version;
+}
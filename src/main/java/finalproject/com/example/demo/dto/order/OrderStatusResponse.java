@@ -0,0 +1,17 @@
+package finalproject.com.example.demo.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusResponse {
+
+    private Long id;
+    private String status;
+    private Long version;
+}
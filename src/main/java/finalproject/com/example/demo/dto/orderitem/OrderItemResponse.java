@@ -1,12 +1,16 @@
 package finalproject.com.example.demo.dto.orderitem;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class OrderItemResponse {
 
     private Long id;
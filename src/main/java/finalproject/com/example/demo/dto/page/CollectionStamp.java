@@ -0,0 +1,25 @@
+package finalproject.com.example.demo.dto.page;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Row count and newest modification time of a table. Any insert, update or delete
+ * changes at least one of the two, so together they validate every list page.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class CollectionStamp {
+
+    private Long count;
+    private Instant lastModified;
+
+    public String toETag(String scope) {
+        long modified = lastModified == null ? 0 : lastModified.toEpochMilli();
+        return "\"" + scope + "-" + count + "-" + modified + "\"";
+    }
+}
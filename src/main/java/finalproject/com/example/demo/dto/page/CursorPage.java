@@ -0,0 +1,31 @@
+package finalproject.com.example.demo.dto.page;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String next;
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}: the extra row only
+     * signals that another page exists and is never returned.
+     */
+    public static <E, T> CursorPage<T> of(
+            List<E> rows,
+            int limit,
+            Function<List<E>, List<T>> mapper,
+            Function<E, String> cursorOf
+    ) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+        String next = hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(mapper.apply(page), next);
+    }
+}
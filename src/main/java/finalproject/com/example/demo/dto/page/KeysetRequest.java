@@ -0,0 +1,98 @@
+package finalproject.com.example.demo.dto.page;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+public class KeysetRequest {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final String SEPARATOR = "|";
+
+    private final List<String> cursor;
+    private final int limit;
+    private final String sortProperty;
+    private final boolean descending;
+
+    private KeysetRequest(List<String> cursor, int limit, String sortProperty, boolean descending) {
+        this.cursor = cursor;
+        this.limit = limit;
+        this.sortProperty = sortProperty;
+        this.descending = descending;
+    }
+
+    /**
+     * Parses the public paging parameters. {@code sort} is a property name,
+     * optionally prefixed with {@code -} for descending order; it defaults to {@code id}.
+     */
+    public static KeysetRequest of(String cursor, Integer limit, String sort) {
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        String normalized = sort == null || sort.isBlank() ? "id" : sort.trim();
+        boolean descending = normalized.startsWith("-");
+        String property = descending ? normalized.substring(1) : normalized;
+
+        return new KeysetRequest(decodeCursor(cursor), size, property, descending);
+    }
+
+    public static KeysetRequest firstPage(int limit) {
+        return new KeysetRequest(List.of(), limit, "id", false);
+    }
+
+    public static String encodeCursor(Object... values) {
+        String raw = Arrays.stream(values)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean hasCursor() {
+        return !cursor.isEmpty();
+    }
+
+    /**
+     * The id of the last row of the previous page, always the final cursor component.
+     */
+    public Long getAfterId() {
+        if (cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(cursor.get(cursor.size() - 1));
+        } catch (NumberFormatException ex) {
+            throw invalidCursor();
+        }
+    }
+
+    public ResponseStatusException unsupportedSort() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort: " + sortProperty);
+    }
+
+    public static ResponseStatusException invalidCursor() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+
+    private static List<String> decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return List.of();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return List.of(raw.split("\\" + SEPARATOR, -1));
+        } catch (IllegalArgumentException ex) {
+            throw invalidCursor();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package finalproject.com.example.demo.dto.product;
+
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+public enum ProductFileFormat {
+    NDJSON(ProductFileFormat.NDJSON_VALUE, "ndjson"),
+    CSV(ProductFileFormat.CSV_VALUE, "csv");
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ProductFileFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ProductFileFormat fromContentType(String contentType) {
+        return CSV.mediaType.isCompatibleWith(MediaType.parseMediaType(contentType)) ? CSV : NDJSON;
+    }
+
+    /**
+     * CSV only when the client explicitly asks for it; wildcards get NDJSON.
+     */
+    public static ProductFileFormat fromAccept(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return NDJSON;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+                continue;
+            }
+            if (CSV.mediaType.isCompatibleWith(mediaType)) {
+                return CSV;
+            }
+            if (NDJSON.mediaType.isCompatibleWith(mediaType)) {
+                return NDJSON;
+            }
+        }
+        return NDJSON;
+    }
+}
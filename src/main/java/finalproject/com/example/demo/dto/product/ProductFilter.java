@@ -0,0 +1,18 @@
+package finalproject.com.example.demo.dto.product;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class ProductFilter {
+
+    private Long categoryId;
+    private Long underCategoryId;
+    private Long sellerId;
+    private String status;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+}
@@ -0,0 +1,11 @@
+package finalproject.com.example.demo.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductImportError {
+    private long line;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package finalproject.com.example.demo.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductImportReport {
+    private long received;
+    private long imported;
+    private long failed;
+    private List<ProductImportError> errors;
+    private long durationMs;
+    private double rowsPerSecond;
+}
@@ -1,12 +1,17 @@
 package finalproject.com.example.demo.dto.product;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductResponse {
 
     private Long id;
@@ -16,4 +21,6 @@ public class ProductResponse {
     private Long categoryId;
     private Long sellerId;
     private String status;
+    private Long version;
+    private Instant updatedAt;
 }
\ No newline at end of file
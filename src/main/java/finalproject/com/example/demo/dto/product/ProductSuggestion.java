@@ -0,0 +1,16 @@
+package finalproject.com.example.demo.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestion {
+
+    private Long id;
+    private String name;
+}
@@ -0,0 +1,17 @@
+package finalproject.com.example.demo.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class SalesRebuildReport {
+
+    private LocalDate from;
+    private LocalDate to;
+    private int days;
+    private long rowsWritten;
+    private long durationMs;
+}
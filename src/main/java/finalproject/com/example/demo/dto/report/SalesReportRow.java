@@ -0,0 +1,28 @@
+package finalproject.com.example.demo.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of a sales report; only the fields of the requested grouping are set.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportRow {
+
+    private LocalDate date;
+    private Long categoryId;
+    private String categoryName;
+    private Long productId;
+    private String productName;
+    private long orderCount;
+    private long units;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,17 @@
+package finalproject.com.example.demo.dto.review;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Getter
+@Setter
+public class ProductRatingResponse {
+
+    private Long productId;
+    private long reviewCount;
+    private BigDecimal average;
+    private Map<Integer, Long> histogram;
+}
@@ -0,0 +1,14 @@
+package finalproject.com.example.demo.dto.review;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RatingRebuildReport {
+
+    private int chunks;
+    private long summariesWritten;
+    private long summariesDeleted;
+    private long durationMs;
+}
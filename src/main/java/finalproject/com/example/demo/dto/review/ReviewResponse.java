@@ -1,10 +1,14 @@
 package finalproject.com.example.demo.dto.review;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class ReviewResponse {
 
     private Long id;
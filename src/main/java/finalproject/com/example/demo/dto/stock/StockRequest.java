@@ -0,0 +1,24 @@
+package finalproject.com.example.demo.dto.stock;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class StockRequest {
+
+    @NotNull
+    @Min(0)
+    private Integer available;
+
+    /**
+     * How many rows the stock is spread over. One is enough for most products; hot products
+     * get more so concurrent checkouts do not queue on a single row lock.
+     */
+    @Min(1)
+    @Max(64)
+    private Integer slots;
+}
@@ -0,0 +1,18 @@
+package finalproject.com.example.demo.dto.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StockResponse {
+
+    private Long productId;
+
+    /**
+     * False when the product has no stock rows; such products can be ordered without limit.
+     */
+    private boolean tracked;
+    private long available;
+    private int slots;
+}
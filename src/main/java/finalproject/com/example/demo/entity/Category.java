@@ -2,6 +2,9 @@ package finalproject.com.example.demo.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,11 +13,15 @@ import lombok.Setter;
 @Setter
 @Entity
 @Table(name = "t_categories")
-public class Category extends BaseEntity {
+public class Category extends VersionedEntity {
 
     @Column(name = "name", nullable = false, unique = true)
     private String name;
 
     @Column(name = "description")
     private String description;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private Category parent;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package finalproject.com.example.demo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Transitive closure of the category tree. Maintained by CategoryClosureRepository;
+ * mapped so subtree filters can be expressed as criteria subqueries.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "t_category_closure")
+public class CategoryClosure {
+
+    @EmbeddedId
+    private CategoryClosureId id;
+
+    @Column(name = "depth", nullable = false)
+    private int depth;
+}
@@ -0,0 +1,26 @@
+package finalproject.com.example.demo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Embeddable
+public class CategoryClosureId implements Serializable {
+
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Column(name = "descendant_id")
+    private Long descendantId;
+}
@@ -5,12 +5,18 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.PartitionKey;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Getter
 @Setter
@@ -28,6 +34,20 @@ public class Order extends BaseEntity {
     @Column(name = "total_price", nullable = false)
     private BigDecimal totalPrice;
 
-    @Column(name = "created_at", nullable = false)
+    /**
+     * Partition key of t_orders and, through order_created_at, of the order's items. Fixed at
+     * creation so an order and its items never have to move between monthly partitions.
+     * Hibernate adds it to the WHERE clause of the order's UPDATE and DELETE statements.
+     */
+    @PartitionKey
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @OneToMany(mappedBy = "order")
+    @OrderBy("id")
+    private List<OrderItem> items = new ArrayList<>();
 }
\ No newline at end of file
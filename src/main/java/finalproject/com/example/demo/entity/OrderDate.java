@@ -0,0 +1,28 @@
+package finalproject.com.example.demo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Creation time of every order, keyed by order id. Maintained by a trigger on t_orders;
+ * mapped so a lookup by order id can also bound created_at, the partition key of t_orders.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "t_order_dates")
+public class OrderDate {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinColumns;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -17,10 +18,23 @@ import java.math.BigDecimal;
 @Table(name = "t_order_items")
 public class OrderItem extends BaseEntity {
 
+    /**
+     * Joined on the order's full key, (id, created_at): order_created_at is the partition key of
+     * t_order_items, so loading an order's items, or an item's order, reads a single partition.
+     */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id", nullable = false)
+    @JoinColumns({
+            @JoinColumn(name = "order_id", referencedColumnName = "id", nullable = false),
+            @JoinColumn(name = "order_created_at", referencedColumnName = "created_at", nullable = false)
+    })
     private Order order;
 
+    /**
+     * The order's id without joining t_orders; written through {@link #order}.
+     */
+    @Column(name = "order_id", insertable = false, updatable = false)
+    private Long orderId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
@@ -30,4 +44,11 @@ public class OrderItem extends BaseEntity {
 
     @Column(name = "price_at_purchase", nullable = false)
     private BigDecimal priceAtPurchase;
+
+    /**
+     * Category of the product when the order was placed. Sales rollups count the item there,
+     * so moving the product to another category later does not shift its past sales.
+     */
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
 }
\ No newline at end of file
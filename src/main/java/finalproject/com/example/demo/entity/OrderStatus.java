@@ -0,0 +1,44 @@
+package finalproject.com.example.demo.entity;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Order lifecycle. An order moves forward only, and can be cancelled until it ships:
+ * PENDING -> PAID -> PROCESSING -> SHIPPED -> DELIVERED, with PAID -> SHIPPED allowed directly.
+ */
+public enum OrderStatus {
+    PENDING,
+    PAID,
+    PROCESSING,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED;
+
+    public Set<OrderStatus> next() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(PAID, CANCELLED);
+            case PAID -> EnumSet.of(PROCESSING, SHIPPED, CANCELLED);
+            case PROCESSING -> EnumSet.of(SHIPPED, CANCELLED);
+            case SHIPPED -> EnumSet.of(DELIVERED);
+            case DELIVERED, CANCELLED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    /**
+     * The statuses an order may be in for a move to this one to be legal.
+     */
+    public Set<OrderStatus> previous() {
+        Set<OrderStatus> previous = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.next().contains(this)) {
+                previous.add(status);
+            }
+        }
+        return previous;
+    }
+
+    public boolean canMoveTo(OrderStatus target) {
+        return next().contains(target);
+    }
+}
@@ -0,0 +1,50 @@
+package finalproject.com.example.demo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * An event waiting to be delivered, written in the same transaction as the change it
+ * describes. Delivered rows are deleted; rows that keep failing end up {@code DEAD}.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "t_outbox")
+public class OutboxMessage extends BaseEntity {
+
+    public static final String PENDING = "PENDING";
+    public static final String DEAD = "DEAD";
+
+    @Column(name = "aggregate_type", nullable = false)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "status", nullable = false)
+    private String status = PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+}
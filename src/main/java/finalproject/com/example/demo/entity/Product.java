@@ -15,7 +15,7 @@ import java.math.BigDecimal;
 @Setter
 @Entity
 @Table(name = "t_products")
-public class Product extends BaseEntity {
+public class Product extends VersionedEntity {
 
     @Column(name = "name", nullable = false)
     private String name;
@@ -0,0 +1,43 @@
+package finalproject.com.example.demo.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Written only through the atomic upserts in ProductRatingSummaryRepository.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "t_product_rating_summary")
+public class ProductRatingSummary {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+}
@@ -32,6 +32,12 @@ public class User extends BaseEntity implements UserDetails {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Issued tokens carry this value; tokens with a lower one are no longer accepted.
+     */
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
             name = "user_roles",
@@ -0,0 +1,31 @@
+package finalproject.com.example.demo.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Published to Spring listeners ({@code @EventListener void on(OrderEvent event)}) by the
+ * outbox dispatcher, after the order change has committed. Delivery is at least once, so
+ * listeners should tolerate seeing the same {@link #getEventId() eventId} twice. A listener
+ * that throws makes the event be retried later with backoff.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEvent {
+
+    private Long eventId;
+    private OrderEventType type;
+    private Long orderId;
+    private Long userId;
+    private String status;
+    private BigDecimal totalPrice;
+    private Long version;
+    private Instant occurredAt;
+}
@@ -0,0 +1,6 @@
+package finalproject.com.example.demo.event;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED
+}
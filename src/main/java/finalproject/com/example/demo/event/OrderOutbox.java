@@ -0,0 +1,61 @@
+package finalproject.com.example.demo.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import finalproject.com.example.demo.entity.Order;
+import finalproject.com.example.demo.entity.OutboxMessage;
+import finalproject.com.example.demo.repository.OutboxMessageRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Records order events in t_outbox. Must be called inside the transaction that changes the
+ * order, so the event exists exactly when the change does; {@link OutboxDispatcher} delivers it.
+ */
+@Component
+public class OrderOutbox {
+
+    static final String AGGREGATE_TYPE = "ORDER";
+
+    private final OutboxMessageRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public OrderOutbox(OutboxMessageRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(Order order) {
+        record(new OrderEvent(null, OrderEventType.ORDER_CREATED, order.getId(), order.getUser().getId(),
+                order.getStatus(), order.getTotalPrice(), order.getVersion(), Instant.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Long orderId, String status, Long version) {
+        record(new OrderEvent(null, OrderEventType.ORDER_STATUS_CHANGED, orderId, null,
+                status, null, version, Instant.now()));
+    }
+
+    private void record(OrderEvent event) {
+        OutboxMessage message = new OutboxMessage();
+        message.setAggregateType(AGGREGATE_TYPE);
+        message.setAggregateId(event.getOrderId());
+        message.setEventType(event.getType().name());
+        message.setPayload(toJson(event));
+        message.setCreatedAt(event.getOccurredAt());
+        message.setAvailableAt(event.getOccurredAt());
+        outboxRepository.save(message);
+    }
+
+    private String toJson(OrderEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize order event", ex);
+        }
+    }
+}
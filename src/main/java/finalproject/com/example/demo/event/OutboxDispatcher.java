@@ -0,0 +1,168 @@
+package finalproject.com.example.demo.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import finalproject.com.example.demo.entity.BaseEntity;
+import finalproject.com.example.demo.entity.OutboxMessage;
+import finalproject.com.example.demo.repository.OutboxMessageRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Polls t_outbox and hands due events to Spring listeners. Each batch is claimed with
+ * {@code FOR UPDATE SKIP LOCKED} and leased in one short transaction, so several instances
+ * can poll side by side and no row lock is held while listeners run. Listeners run in
+ * parallel on a worker pool; delivered rows are deleted, failed ones are retried with
+ * exponential backoff until {@code max-attempts}, after which they are marked {@code DEAD}.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    static final Duration LEASE = Duration.ofMinutes(2);
+    static final Duration BASE_BACKOFF = Duration.ofSeconds(1);
+    static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final ExecutorService workers;
+
+    public OutboxDispatcher(
+            OutboxMessageRepository outboxRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.workers:8}") int workers
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.workers = Executors.newFixedThreadPool(workers);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:1s}")
+    public void dispatch() {
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed == batchSize && !Thread.currentThread().isInterrupted());
+    }
+
+    /**
+     * Claims, delivers and settles one batch; returns how many rows were claimed.
+     */
+    int dispatchBatch() {
+        Instant now = Instant.now();
+        List<OutboxMessage> batch = transactionTemplate.execute(status -> {
+            List<OutboxMessage> due = outboxRepository.lockDue(now, batchSize);
+            if (!due.isEmpty()) {
+                outboxRepository.lease(due.stream().map(BaseEntity::getId).toList(), now.plus(LEASE));
+            }
+            return due;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Callable<Void>> deliveries = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            deliveries.add(() -> {
+                deliver(message);
+                return null;
+            });
+        }
+
+        List<Future<Void>> results;
+        try {
+            results = workers.invokeAll(deliveries);
+        } catch (InterruptedException ex) {
+            // leased rows become due again when the lease runs out
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+
+        List<Long> delivered = new ArrayList<>();
+        Map<OutboxMessage, Throwable> failed = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                results.get(i).get();
+                delivered.add(batch.get(i).getId());
+            } catch (ExecutionException ex) {
+                failed.put(batch.get(i), ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxRepository.deleteAllByIdInBatch(delivered);
+            }
+            failed.forEach((message, cause) -> reschedule(message, cause, now));
+        });
+        return batch.size();
+    }
+
+    private void deliver(OutboxMessage message) throws Exception {
+        OrderEvent event = objectMapper.readValue(message.getPayload(), OrderEvent.class);
+        event.setEventId(message.getId());
+        eventPublisher.publishEvent(event);
+    }
+
+    private void reschedule(OutboxMessage message, Throwable cause, Instant now) {
+        int attempts = message.getAttempts() + 1;
+        boolean dead = attempts >= maxAttempts;
+        String error = String.valueOf(cause);
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        if (dead) {
+            log.error("Outbox message {} ({}) gave up after {} attempts", message.getId(), message.getEventType(), attempts, cause);
+        } else {
+            log.warn("Outbox message {} ({}) failed, attempt {}: {}", message.getId(), message.getEventType(), attempts, error);
+        }
+        outboxRepository.reschedule(message.getId(), attempts, now.plus(backoff(attempts)),
+                dead ? OutboxMessage.DEAD : OutboxMessage.PENDING, error);
+    }
+
+    static Duration backoff(int attempts) {
+        int exponent = Math.min(attempts - 1, 20);
+        Duration delay = BASE_BACKOFF.multipliedBy(1L << exponent);
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+}
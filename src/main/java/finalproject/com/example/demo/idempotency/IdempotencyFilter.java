@@ -0,0 +1,221 @@
+package finalproject.com.example.demo.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes {@code POST} on the configured create endpoints safe to retry. A request carrying an
+ * {@code Idempotency-Key} runs once per user and key; repeats get the first response back with
+ * {@code Idempotent-Replayed: true}. Duplicates arriving while the first is still running on
+ * this instance wait for it instead of executing; {@link IdempotencyStore} covers the other
+ * instances. Only 2xx responses are kept, so a failed request can be retried with the same key.
+ * <p>
+ * Registered as a plain servlet filter, which puts it after the security chain: the caller is
+ * already authenticated and rejected requests never claim a key.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final Set<String> paths;
+    private final Duration waitTimeout;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(
+            IdempotencyStore store,
+            @Value("${app.idempotency.paths:/orders,/order-items,/checkout}") List<String> paths,
+            @Value("${app.idempotency.wait-timeout:30s}") Duration waitTimeout
+    ) {
+        this.store = store;
+        this.paths = Set.copyOf(paths);
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !paths.contains(pathOf(request));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String key = request.getHeader(HEADER).strip();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String scopedKey = ownerName() + ":" + key;
+        String requestHash = hash(request.getMethod(), pathOf(request), cachedRequest.getBody());
+
+        try {
+            StoredResponse earlier = execute(scopedKey, requestHash, cachedRequest, response, filterChain);
+            if (earlier != null) {
+                replay(earlier, response);
+            }
+        } catch (ResponseStatusException e) {
+            response.sendError(e.getStatusCode().value(), e.getReason());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+
+    /**
+     * Runs the request unless someone already has; returns the response to replay, or null
+     * when this call executed the request and wrote its own response.
+     */
+    private StoredResponse execute(
+            String key,
+            String requestHash,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException, InterruptedException {
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        try {
+            CompletableFuture<StoredResponse> running;
+            while ((running = inFlight.putIfAbsent(key, mine)) != null) {
+                StoredResponse first = await(running);
+                // null: the first request failed and gave the key back, so try to take it over
+                if (first != null) {
+                    return IdempotencyStore.checkSameRequest(first, requestHash);
+                }
+            }
+
+            Optional<StoredResponse> earlier = store.acquire(key, requestHash);
+            if (earlier.isPresent()) {
+                mine.complete(earlier.get());
+                return earlier.get();
+            }
+            mine.complete(proceed(key, requestHash, request, response, filterChain));
+            return null;
+        } finally {
+            mine.complete(null);
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private StoredResponse proceed(
+            String key,
+            String requestHash,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (HttpStatus.valueOf(wrapper.getStatus()).is2xxSuccessful()) {
+                stored = store.complete(
+                        key,
+                        requestHash,
+                        wrapper.getStatus(),
+                        wrapper.getContentType(),
+                        wrapper.getHeader(HttpHeaders.LOCATION),
+                        wrapper.getContentAsByteArray()
+                );
+            }
+            return stored;
+        } finally {
+            if (stored == null) {
+                store.release(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) throws InterruptedException {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, IdempotencyStore.STILL_RUNNING);
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        if (stored.getLocation() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.getLocation());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private static String ownerName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "anonymous";
+        }
+        return authentication.getName();
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Fingerprint of the request a key was first used with; the same key on another path or
+     * with another body is rejected rather than answered with an unrelated response.
+     */
+    static String hash(String method, String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + " " + path + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package finalproject.com.example.demo.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import finalproject.com.example.demo.cache.MonitoredCache;
+import finalproject.com.example.demo.dto.cache.CacheStatsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable record of requests sent with an {@code Idempotency-Key}. A key is claimed with an
+ * IN_PROGRESS row before the request runs and completed with the response afterwards, so
+ * every instance sharing the database sees the same outcome. Completed responses are also
+ * kept in a Caffeine cache, which answers most retries without touching the table.
+ */
+@Component
+public class IdempotencyStore implements MonitoredCache {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    static final String STILL_RUNNING = "A request with this Idempotency-Key is still being processed";
+    static final String DIFFERENT_REQUEST = "Idempotency-Key was already used for a different request";
+
+    // A claim can also take over a row whose expiry has passed: a finished key past its TTL,
+    // or an IN_PROGRESS key left behind by an instance that died mid-request.
+    private static final String CLAIM_SQL = """
+            INSERT INTO t_idempotency_keys (idempotency_key, request_hash, status, created_at, expires_at)
+            VALUES (?, ?, 'IN_PROGRESS', ?, ?)
+            ON CONFLICT (idempotency_key) DO UPDATE
+            SET request_hash = EXCLUDED.request_hash,
+                status = EXCLUDED.status,
+                response_status = NULL,
+                content_type = NULL,
+                location = NULL,
+                body = NULL,
+                created_at = EXCLUDED.created_at,
+                expires_at = EXCLUDED.expires_at
+            WHERE t_idempotency_keys.expires_at < EXCLUDED.created_at
+            """;
+
+    private static final String FIND_SQL = """
+            SELECT request_hash, response_status, content_type, location, body, expires_at
+            FROM t_idempotency_keys
+            WHERE idempotency_key = ?
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE t_idempotency_keys
+            SET status = 'COMPLETED', response_status = ?, content_type = ?, location = ?, body = ?, expires_at = ?
+            WHERE idempotency_key = ? AND status = 'IN_PROGRESS'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, StoredResponse> cache;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+
+    public IdempotencyStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+            @Value("${app.idempotency.lock-timeout:1m}") Duration lockTimeout,
+            @Value("${app.idempotency.wait-timeout:30s}") Duration waitTimeout,
+            @Value("${app.idempotency.poll-interval:100ms}") Duration pollInterval,
+            @Value("${app.idempotency.cache.max-size:10000}") long maxSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.lockTimeout = lockTimeout;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Claims {@code key} for the current request. Empty means the caller owns the key and must
+     * run the request; otherwise the earlier response is returned for replay. While another
+     * instance holds the key this polls until it finishes or the wait timeout passes.
+     */
+    public Optional<StoredResponse> acquire(String key, String requestHash) throws InterruptedException {
+        StoredResponse cached = cache.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return Optional.of(checkSameRequest(cached, requestHash));
+        }
+
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            Instant now = Instant.now();
+            int claimed = jdbcTemplate.update(CLAIM_SQL,
+                    key, requestHash, Timestamp.from(now), Timestamp.from(now.plus(lockTimeout)));
+            if (claimed > 0) {
+                return Optional.empty();
+            }
+
+            StoredResponse existing = find(key);
+            if (existing != null) {
+                checkSameRequest(existing, requestHash);
+                if (existing.isCompleted()) {
+                    cache.put(key, existing);
+                    return Optional.of(existing);
+                }
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, STILL_RUNNING);
+            }
+            Thread.sleep(pollInterval.toMillis());
+        }
+    }
+
+    public StoredResponse complete(
+            String key,
+            String requestHash,
+            int status,
+            String contentType,
+            String location,
+            byte[] body
+    ) {
+        StoredResponse stored = new StoredResponse(
+                requestHash, status, contentType, location, body, Instant.now().plus(ttl));
+        jdbcTemplate.update(COMPLETE_SQL,
+                status, contentType, location, stored.getBody(), Timestamp.from(stored.getExpiresAt()), key);
+        cache.put(key, stored);
+        return stored;
+    }
+
+    /**
+     * Gives the key back after a failed request, so a retry runs it again.
+     */
+    public void release(String key) {
+        jdbcTemplate.update(
+                "DELETE FROM t_idempotency_keys WHERE idempotency_key = ? AND status = 'IN_PROGRESS'", key);
+    }
+
+    @Scheduled(cron = "${app.idempotency.purge-cron:0 30 * * * *}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update(
+                "DELETE FROM t_idempotency_keys WHERE expires_at < ?", Timestamp.from(Instant.now()));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private StoredResponse find(String key) {
+        List<StoredResponse> rows = jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new StoredResponse(
+                rs.getString("request_hash"),
+                (Integer) rs.getObject("response_status"),
+                rs.getString("content_type"),
+                rs.getString("location"),
+                rs.getBytes("body"),
+                rs.getTimestamp("expires_at").toInstant()
+        ), key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    static StoredResponse checkSameRequest(StoredResponse stored, String requestHash) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, DIFFERENT_REQUEST);
+        }
+        return stored;
+    }
+
+    @Override
+    public String getName() {
+        return "idempotency";
+    }
+
+    @Override
+    public CacheStatsResponse getStats() {
+        return MonitoredCache.statsOf(getName(), cache);
+    }
+}
@@ -0,0 +1,64 @@
+package finalproject.com.example.demo.idempotency;
+
+import java.time.Instant;
+
+/**
+ * A row of t_idempotency_keys. {@code status} stays null while the first request is still running.
+ */
+public class StoredResponse {
+
+    private final String requestHash;
+    private final Integer status;
+    private final String contentType;
+    private final String location;
+    private final byte[] body;
+    private final Instant expiresAt;
+
+    public StoredResponse(
+            String requestHash,
+            Integer status,
+            String contentType,
+            String location,
+            byte[] body,
+            Instant expiresAt
+    ) {
+        this.requestHash = requestHash;
+        this.status = status;
+        this.contentType = contentType;
+        this.location = location;
+        this.body = body != null ? body : new byte[0];
+        this.expiresAt = expiresAt;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt.isBefore(now);
+    }
+}
@@ -4,6 +4,7 @@ import finalproject.com.example.demo.dto.category.CategoryRequest;
 import finalproject.com.example.demo.dto.category.CategoryResponse;
 import finalproject.com.example.demo.entity.Category;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
@@ -12,9 +13,13 @@ import java.util.List;
 public interface CategoryMapper {
     CategoryMapper INSTANCE = Mappers.getMapper(CategoryMapper.class);
 
+    @Mapping(target = "parentId", source = "parent.id")
     CategoryResponse toResponse(Category entity);
     List<CategoryResponse> toResponse(List<Category> entities);
 
+    @Mapping(target = "parent", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Category toEntity(CategoryRequest request);
     List<Category> toEntity(List<CategoryRequest> requests);
 }
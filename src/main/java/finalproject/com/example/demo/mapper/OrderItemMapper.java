@@ -23,6 +23,8 @@ public interface OrderItemMapper {
 
     @Mapping(target = "order", expression = "java(toOrder(request.getOrderId()))")
     @Mapping(target = "product", expression = "java(toProduct(request.getProductId()))")
+    @Mapping(target = "orderId", ignore = true)
+    @Mapping(target = "categoryId", ignore = true)
     OrderItem toEntity(OrderItemRequest request);
 
     List<OrderItem> toEntity(List<OrderItemRequest> requests);
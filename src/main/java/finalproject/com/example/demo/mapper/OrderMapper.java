@@ -1,8 +1,11 @@
 package finalproject.com.example.demo.mapper;
 
+import finalproject.com.example.demo.dto.order.OrderDetailResponse;
+import finalproject.com.example.demo.dto.order.OrderLineResponse;
 import finalproject.com.example.demo.dto.order.OrderRequest;
 import finalproject.com.example.demo.dto.order.OrderResponse;
 import finalproject.com.example.demo.entity.Order;
+import finalproject.com.example.demo.entity.OrderItem;
 import finalproject.com.example.demo.entity.User;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -19,7 +22,16 @@ public interface OrderMapper {
 
     List<OrderResponse> toResponse(List<Order> entities);
 
+    @Mapping(target = "userId", source = "user.id")
+    OrderDetailResponse toDetailResponse(Order entity);
+
+    @Mapping(target = "productId", source = "product.id")
+    @Mapping(target = "productName", source = "product.name")
+    OrderLineResponse toLineResponse(OrderItem item);
+
     @Mapping(target = "user", expression = "java(toUser(request.getUserId()))")
+    @Mapping(target = "items", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Order toEntity(OrderRequest request);
 
     List<Order> toEntity(List<OrderRequest> requests);
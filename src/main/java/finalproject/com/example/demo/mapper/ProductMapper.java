@@ -23,6 +23,8 @@ public interface ProductMapper {
 
     @Mapping(target = "category", expression = "java(toCategory(request.getCategoryId()))")
     @Mapping(target = "seller", expression = "java(toUser(request.getSellerId()))")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Product toEntity(ProductRequest request);
 
     List<Product> toEntity(List<ProductRequest> requests);
@@ -26,6 +26,7 @@ public interface UserMapper {
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "roles", ignore = true)
     @Mapping(target = "password", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     User toEntity(AdminCreateUserRequest request);
 
     default List<String> mapRoles(List<Role> roles) {
@@ -0,0 +1,57 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.dto.category.CategoryTreeRow;
+import finalproject.com.example.demo.entity.CategoryClosure;
+import finalproject.com.example.demo.entity.CategoryClosureId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosureId> {
+
+    /**
+     * Every category in the subtree rooted at {@code ancestorId}, parents before children.
+     */
+    @Query("""
+            select new finalproject.com.example.demo.dto.category.CategoryTreeRow(c.id, c.parent.id, c.name, c.description, cc.depth)
+            from CategoryClosure cc join Category c on c.id = cc.id.descendantId
+            where cc.id.ancestorId = :ancestorId
+            order by cc.depth, c.id
+            """)
+    List<CategoryTreeRow> findSubtree(@Param("ancestorId") Long ancestorId);
+
+    /**
+     * Adds a new category as a root; {@link #attachSubtree} then links it under its parent.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO t_category_closure (ancestor_id, descendant_id, depth) VALUES (:categoryId, :categoryId, 0)", nativeQuery = true)
+    void insertSelf(@Param("categoryId") Long categoryId);
+
+    /**
+     * Cuts every path from outside the subtree of {@code categoryId} into it.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM t_category_closure
+            WHERE descendant_id IN (SELECT descendant_id FROM t_category_closure WHERE ancestor_id = :categoryId)
+              AND ancestor_id NOT IN (SELECT descendant_id FROM t_category_closure WHERE ancestor_id = :categoryId)
+            """, nativeQuery = true)
+    void detachSubtree(@Param("categoryId") Long categoryId);
+
+    /**
+     * Connects the (detached) subtree of {@code categoryId} to every ancestor of {@code parentId}.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO t_category_closure (ancestor_id, descendant_id, depth)
+            SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth + 1
+            FROM t_category_closure above
+            CROSS JOIN t_category_closure below
+            WHERE above.descendant_id = :parentId
+              AND below.ancestor_id = :categoryId
+            """, nativeQuery = true)
+    void attachSubtree(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+}
@@ -1,7 +1,19 @@
 package finalproject.com.example.demo.repository;
 
+import finalproject.com.example.demo.dto.page.CollectionStamp;
 import finalproject.com.example.demo.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+import java.util.Set;
+
+public interface CategoryRepository extends JpaRepository<Category, Long>, KeysetRepository<Category> {
+
+    @Query("select c.id from Category c")
+    Set<Long> findAllIds();
+
+    @Query("select new finalproject.com.example.demo.dto.page.CollectionStamp(count(c), max(c.updatedAt)) from Category c")
+    CollectionStamp findStamp();
+
+    boolean existsByParentId(Long parentId);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package finalproject.com.example.demo.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Keyset (seek) pagination on the primary key. Callers pass an unpaged
+ * {@code PageRequest.of(0, size, sort)} so no OFFSET is ever generated.
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T> extends Repository<T, Long> {
+
+    List<T> findByIdGreaterThan(Long id, Pageable pageable);
+
+    List<T> findByIdLessThan(Long id, Pageable pageable);
+}
@@ -1,7 +1,24 @@
 package finalproject.com.example.demo.repository;
 
+import finalproject.com.example.demo.dto.orderitem.OrderItemResponse;
 import finalproject.com.example.demo.entity.OrderItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+import java.util.List;
+
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, KeysetRepository<OrderItem> {
+
+    String SELECT_RESPONSE = "select new finalproject.com.example.demo.dto.orderitem.OrderItemResponse(i.id, i.orderId, i.product.id, i.quantity, i.priceAtPurchase) from OrderItem i";
+
+    @Query(SELECT_RESPONSE + " where i.id > :id order by i.id")
+    List<OrderItemResponse> findResponsesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_RESPONSE + " where i.id < :id order by i.id desc")
+    List<OrderItemResponse> findResponsesByIdLessThan(@Param("id") Long id, Pageable pageable);
+
+    @Query("select i.product.id as productId, sum(i.quantity) as quantity from OrderItem i group by i.product.id")
+    List<ProductPopularity> sumQuantityByProduct();
 }
\ No newline at end of file
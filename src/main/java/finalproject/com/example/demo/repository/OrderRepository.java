@@ -2,6 +2,46 @@ package finalproject.com.example.demo.repository;
 
 import finalproject.com.example.demo.entity.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
-}
\ No newline at end of file
+import java.util.Collection;
+import java.util.Optional;
+
+public interface OrderRepository extends JpaRepository<Order, Long>, KeysetRepository<Order>, OrderResponseRepository {
+
+    /**
+     * Bounds created_at, the partition key, by the order's row in t_order_dates: t_orders has
+     * no index on the id alone, so a lookup by id only would probe every monthly partition.
+     */
+    String IN_ITS_PARTITION = "o.createdAt = (select d.createdAt from OrderDate d where d.orderId = :id)";
+
+    /**
+     * Use instead of {@link #findById}, which cannot tell which partition to read.
+     */
+    @Query("select o from Order o where o.id = :id and " + IN_ITS_PARTITION)
+    Optional<Order> findInPartitionById(@Param("id") Long id);
+
+    /**
+     * Loads the order with its items and their products in one statement. The items are joined
+     * on the order's (id, created_at), so they are read from the order's partition as well.
+     */
+    @Query("""
+            select o from Order o left join fetch o.items i left join fetch i.product
+            where o.id = :id and\s""" + IN_ITS_PARTITION)
+    Optional<Order> findDetailById(@Param("id") Long id);
+
+    /**
+     * Compare-and-set status change: applies only while the order is still at {@code version}
+     * and in one of {@code sources}. Returns the number of rows changed, 0 or 1.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Order o set o.status = :target, o.version = o.version + 1
+            where o.id = :id and o.version = :version and o.status in :sources and\s""" + IN_ITS_PARTITION)
+    int transitionStatus(@Param("id") Long id,
+                         @Param("version") Long version,
+                         @Param("sources") Collection<String> sources,
+                         @Param("target") String target);
+}
@@ -0,0 +1,17 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.dto.order.OrderResponse;
+import finalproject.com.example.demo.entity.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Read path for order listings that selects only the response columns, so rows are
+ * never hydrated into managed entities.
+ */
+public interface OrderResponseRepository {
+
+    List<OrderResponse> findResponses(Specification<Order> specification, Sort sort, int limit);
+}
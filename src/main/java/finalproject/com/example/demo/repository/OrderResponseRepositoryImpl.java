@@ -0,0 +1,48 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.dto.order.OrderResponse;
+import finalproject.com.example.demo.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class OrderResponseRepositoryImpl implements OrderResponseRepository {
+
+    private final EntityManager entityManager;
+
+    OrderResponseRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<OrderResponse> findResponses(Specification<Order> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderResponse> query = cb.createQuery(OrderResponse.class);
+        Root<Order> root = query.from(Order.class);
+
+        query.select(cb.construct(OrderResponse.class,
+                root.get("id"),
+                root.get("user").get("id"),
+                root.get("status"),
+                root.get("totalPrice"),
+                root.get("createdAt"),
+                root.get("version")));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,103 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.entity.Order;
+import finalproject.com.example.demo.entity.OrderItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What one order contributes to the sales rollups: its day, its status and one line per item.
+ * An order that does not exist contributes nothing ({@link #none}).
+ */
+public class OrderSales {
+
+    private final Long orderId;
+    private final LocalDate day;
+    private final String status;
+    private final List<Line> lines;
+
+    public OrderSales(Long orderId, LocalDate day, String status, List<Line> lines) {
+        this.orderId = orderId;
+        this.day = day;
+        this.status = status;
+        this.lines = lines;
+    }
+
+    public static OrderSales none(Long orderId) {
+        return new OrderSales(orderId, null, null, List.of());
+    }
+
+    /**
+     * Built from entities that were just written, so no query is needed for new orders.
+     */
+    public static OrderSales of(Order order, List<OrderItem> items) {
+        List<Line> lines = new ArrayList<>(items.size());
+        for (OrderItem item : items) {
+            lines.add(new Line(
+                    item.getProduct().getId(),
+                    item.getCategoryId(),
+                    item.getQuantity(),
+                    item.getPriceAtPurchase()
+            ));
+        }
+        return new OrderSales(order.getId(), order.getCreatedAt().toLocalDate(), order.getStatus(), lines);
+    }
+
+    public OrderSales withStatus(String status) {
+        return exists() ? new OrderSales(orderId, day, status, lines) : this;
+    }
+
+    public boolean exists() {
+        return day != null;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public static class Line {
+
+        private final Long productId;
+        private final Long categoryId;
+        private final long quantity;
+        private final BigDecimal price;
+
+        public Line(Long productId, Long categoryId, long quantity, BigDecimal price) {
+            this.productId = productId;
+            this.categoryId = categoryId;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public BigDecimal getRevenue() {
+            return price.multiply(BigDecimal.valueOf(quantity));
+        }
+    }
+}
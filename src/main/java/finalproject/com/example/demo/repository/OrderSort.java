@@ -0,0 +1,59 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.dto.order.OrderResponse;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Orders are always paged by {@code (createdAt, id)}; only the direction is selectable.
+ */
+public enum OrderSort {
+    OLDEST(false),
+    NEWEST(true);
+
+    private final boolean descending;
+
+    OrderSort(boolean descending) {
+        this.descending = descending;
+    }
+
+    /**
+     * Supported values of the {@code sort} parameter: {@code createdAt} or {@code -createdAt},
+     * {@code newest} (alias for {@code -createdAt}), and {@code id} / {@code -id}, which keep
+     * their old meaning because ids and creation times grow together.
+     */
+    public static OrderSort from(KeysetRequest request) {
+        return switch (request.getSortProperty()) {
+            case "id", "createdAt" -> request.isDescending() ? NEWEST : OLDEST;
+            case "newest" -> NEWEST;
+            default -> throw request.unsupportedSort();
+        };
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Sort toSort() {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, "createdAt").and(Sort.by(direction, "id"));
+    }
+
+    public String cursorOf(OrderResponse order) {
+        return KeysetRequest.encodeCursor(order.getCreatedAt(), order.getId());
+    }
+
+    public static LocalDateTime cursorCreatedAt(KeysetRequest request) {
+        if (request.getCursor().size() != 2) {
+            throw KeysetRequest.invalidCursor();
+        }
+        try {
+            return LocalDateTime.parse(request.getCursor().get(0));
+        } catch (DateTimeParseException ex) {
+            throw KeysetRequest.invalidCursor();
+        }
+    }
+}
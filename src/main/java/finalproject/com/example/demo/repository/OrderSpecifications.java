@@ -0,0 +1,78 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.dto.order.OrderFilter;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
+import finalproject.com.example.demo.entity.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    /**
+     * {@code from} is inclusive and {@code to} exclusive, so consecutive ranges never overlap.
+     */
+    public static Specification<Order> matching(OrderFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getUserId() != null) {
+                predicates.add(cb.equal(root.get("user").get("id"), filter.getUserId()));
+            }
+            if (filter.getStatus() != null && !filter.getStatus().isBlank()) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.getTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * {@code [from, to)} on created_at; a null end is left open.
+     */
+    public static Specification<Order> createdBetween(LocalDateTime from, LocalDateTime to) {
+        OrderFilter range = new OrderFilter();
+        range.setFrom(from);
+        range.setTo(to);
+        return matching(range);
+    }
+
+    /**
+     * Seek predicate that continues after the cursor row, written as
+     * {@code created_at >= t AND (created_at > t OR id > lastId)} so the leading range
+     * condition can drive the {@code (..., created_at, id)} indexes.
+     */
+    public static Specification<Order> after(OrderSort sort, KeysetRequest request) {
+        if (!request.hasCursor()) {
+            return (root, query, cb) -> null;
+        }
+
+        LocalDateTime afterCreatedAt = OrderSort.cursorCreatedAt(request);
+        Long afterId = request.getAfterId();
+        return (root, query, cb) -> {
+            Path<LocalDateTime> createdAt = root.get("createdAt");
+            Path<Long> id = root.get("id");
+            if (sort.isDescending()) {
+                return cb.and(
+                        cb.lessThanOrEqualTo(createdAt, afterCreatedAt),
+                        cb.or(cb.lessThan(createdAt, afterCreatedAt), cb.lessThan(id, afterId))
+                );
+            }
+            return cb.and(
+                    cb.greaterThanOrEqualTo(createdAt, afterCreatedAt),
+                    cb.or(cb.greaterThan(createdAt, afterCreatedAt), cb.greaterThan(id, afterId))
+            );
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks up to {@code limit} due rows, skipping rows another dispatcher already holds.
+     */
+    @Query(value = """
+            SELECT * FROM t_outbox
+            WHERE status = 'PENDING' AND available_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxMessage> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Hides claimed rows from other dispatchers until {@code leaseUntil}; if this one dies
+     * mid-delivery they become due again and are delivered once more.
+     */
+    @Modifying
+    @Query("update OutboxMessage m set m.availableAt = :leaseUntil where m.id in :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") Instant leaseUntil);
+
+    @Modifying
+    @Query("""
+            update OutboxMessage m
+            set m.attempts = :attempts, m.availableAt = :availableAt, m.status = :status, m.lastError = :error
+            where m.id = :id
+            """)
+    int reschedule(@Param("id") Long id,
+                   @Param("attempts") int attempts,
+                   @Param("availableAt") Instant availableAt,
+                   @Param("status") String status,
+                   @Param("error") String error);
+}
@@ -0,0 +1,8 @@
+package finalproject.com.example.demo.repository;
+
+public interface ProductPopularity {
+
+    Long getProductId();
+
+    Long getQuantity();
+}
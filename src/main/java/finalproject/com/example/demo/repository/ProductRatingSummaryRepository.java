@@ -0,0 +1,82 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.entity.ProductRatingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ProductRatingSummaryRepository extends JpaRepository<ProductRatingSummary, Long> {
+
+    /**
+     * Adds {@code delta} reviews with the given star rating (use -1 to take one away).
+     * A single upsert, so concurrent reviews of the same product never lose an update.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO t_product_rating_summary AS s
+                (product_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5)
+            VALUES (:productId, :delta, :delta * :rating,
+                    CASE WHEN :rating = 1 THEN :delta ELSE 0 END,
+                    CASE WHEN :rating = 2 THEN :delta ELSE 0 END,
+                    CASE WHEN :rating = 3 THEN :delta ELSE 0 END,
+                    CASE WHEN :rating = 4 THEN :delta ELSE 0 END,
+                    CASE WHEN :rating = 5 THEN :delta ELSE 0 END)
+            ON CONFLICT (product_id) DO UPDATE SET
+                review_count = s.review_count + EXCLUDED.review_count,
+                rating_sum = s.rating_sum + EXCLUDED.rating_sum,
+                stars_1 = s.stars_1 + EXCLUDED.stars_1,
+                stars_2 = s.stars_2 + EXCLUDED.stars_2,
+                stars_3 = s.stars_3 + EXCLUDED.stars_3,
+                stars_4 = s.stars_4 + EXCLUDED.stars_4,
+                stars_5 = s.stars_5 + EXCLUDED.stars_5
+            """, nativeQuery = true)
+    void applyDelta(@Param("productId") Long productId, @Param("rating") int rating, @Param("delta") int delta);
+
+    /**
+     * Row locks taken before a chunk is recomputed. Locking the products blocks new
+     * reviews for them (the foreign key check needs a share lock) and locking the
+     * summaries makes in-flight deltas land on top of the recomputed values.
+     */
+    @Query(value = "SELECT id FROM t_products WHERE id BETWEEN :fromId AND :toId ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockProducts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query(value = "SELECT product_id FROM t_product_rating_summary WHERE product_id BETWEEN :fromId AND :toId ORDER BY product_id FOR UPDATE", nativeQuery = true)
+    List<Long> lockSummaries(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO t_product_rating_summary AS s
+                (product_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5)
+            SELECT product_id,
+                   COUNT(*),
+                   SUM(rating),
+                   COUNT(*) FILTER (WHERE rating = 1),
+                   COUNT(*) FILTER (WHERE rating = 2),
+                   COUNT(*) FILTER (WHERE rating = 3),
+                   COUNT(*) FILTER (WHERE rating = 4),
+                   COUNT(*) FILTER (WHERE rating = 5)
+            FROM t_reviews
+            WHERE product_id BETWEEN :fromId AND :toId
+            GROUP BY product_id
+            ON CONFLICT (product_id) DO UPDATE SET
+                review_count = EXCLUDED.review_count,
+                rating_sum = EXCLUDED.rating_sum,
+                stars_1 = EXCLUDED.stars_1,
+                stars_2 = EXCLUDED.stars_2,
+                stars_3 = EXCLUDED.stars_3,
+                stars_4 = EXCLUDED.stars_4,
+                stars_5 = EXCLUDED.stars_5
+            """, nativeQuery = true)
+    int recomputeRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM t_product_rating_summary s
+            WHERE s.product_id BETWEEN :fromId AND :toId
+              AND NOT EXISTS (SELECT 1 FROM t_reviews r WHERE r.product_id = s.product_id)
+            """, nativeQuery = true)
+    int deleteWithoutReviews(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
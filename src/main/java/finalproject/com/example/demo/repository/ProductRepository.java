@@ -1,7 +1,34 @@
 package finalproject.com.example.demo.repository;
 
+import finalproject.com.example.demo.dto.product.ProductSuggestion;
 import finalproject.com.example.demo.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
-}
\ No newline at end of file
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, KeysetRepository<Product>, ProductResponseRepository {
+
+    @Query("select coalesce(max(p.id), 0) from Product p")
+    Long findMaxId();
+
+    @Query("select new finalproject.com.example.demo.dto.product.ProductSuggestion(p.id, p.name) from Product p where p.id > :id")
+    List<ProductSuggestion> findSuggestionsByIdGreaterThan(@Param("id") Long id);
+
+    /**
+     * Server-side cursor over the whole catalog. Must be consumed inside a read-only
+     * transaction, otherwise PostgreSQL ignores the fetch size and buffers every row.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p order by p.id")
+    Stream<Product> streamAll();
+}
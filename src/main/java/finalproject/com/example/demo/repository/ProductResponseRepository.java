@@ -0,0 +1,17 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.dto.product.ProductResponse;
+import finalproject.com.example.demo.entity.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Read path for product listings that selects only the response columns, so rows are
+ * never hydrated into managed entities.
+ */
+public interface ProductResponseRepository {
+
+    List<ProductResponse> findResponses(Specification<Product> specification, Sort sort, int limit);
+}
@@ -0,0 +1,51 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.dto.product.ProductResponse;
+import finalproject.com.example.demo.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class ProductResponseRepositoryImpl implements ProductResponseRepository {
+
+    private final EntityManager entityManager;
+
+    ProductResponseRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ProductResponse> findResponses(Specification<Product> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponse> query = cb.createQuery(ProductResponse.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(cb.construct(ProductResponse.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("description"),
+                root.get("price"),
+                root.get("category").get("id"),
+                root.get("seller").get("id"),
+                root.get("status"),
+                root.get("version"),
+                root.get("updatedAt")));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,53 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.dto.page.KeysetRequest;
+import finalproject.com.example.demo.dto.product.ProductResponse;
+import org.springframework.data.domain.Sort;
+
+public enum ProductSort {
+    ID_ASC("id", false),
+    ID_DESC("id", true),
+    PRICE_ASC("price", false),
+    PRICE_DESC("price", true);
+
+    private final String property;
+    private final boolean descending;
+
+    ProductSort(String property, boolean descending) {
+        this.property = property;
+        this.descending = descending;
+    }
+
+    /**
+     * Supported values of the {@code sort} parameter: {@code id}, {@code price},
+     * either prefixed with {@code -}, and {@code newest} (alias for {@code -id}).
+     */
+    public static ProductSort from(KeysetRequest request) {
+        return switch (request.getSortProperty()) {
+            case "id" -> request.isDescending() ? ID_DESC : ID_ASC;
+            case "price" -> request.isDescending() ? PRICE_DESC : PRICE_ASC;
+            case "newest" -> ID_DESC;
+            default -> throw request.unsupportedSort();
+        };
+    }
+
+    public boolean isByPrice() {
+        return "price".equals(property);
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Sort toSort() {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort byId = Sort.by(direction, "id");
+        return isByPrice() ? Sort.by(direction, property).and(byId) : byId;
+    }
+
+    public String cursorOf(ProductResponse product) {
+        return isByPrice()
+                ? KeysetRequest.encodeCursor(product.getPrice().toPlainString(), product.getId())
+                : KeysetRequest.encodeCursor(product.getId());
+    }
+}
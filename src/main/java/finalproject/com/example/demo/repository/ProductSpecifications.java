@@ -0,0 +1,96 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.dto.page.KeysetRequest;
+import finalproject.com.example.demo.dto.product.ProductFilter;
+import finalproject.com.example.demo.entity.CategoryClosure;
+import finalproject.com.example.demo.entity.Product;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> matching(ProductFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getCategoryId() != null) {
+                predicates.add(cb.equal(root.get("category").get("id"), filter.getCategoryId()));
+            }
+            if (filter.getUnderCategoryId() != null) {
+                // category_id IN (descendants of the given category): one semi-join on the closure primary key
+                Subquery<Long> subtree = query.subquery(Long.class);
+                Root<CategoryClosure> closure = subtree.from(CategoryClosure.class);
+                subtree.select(closure.get("id").get("descendantId"))
+                        .where(cb.equal(closure.get("id").get("ancestorId"), filter.getUnderCategoryId()));
+                predicates.add(root.get("category").get("id").in(subtree));
+            }
+            if (filter.getSellerId() != null) {
+                predicates.add(cb.equal(root.get("seller").get("id"), filter.getSellerId()));
+            }
+            if (filter.getStatus() != null && !filter.getStatus().isBlank()) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Seek predicate that continues after the cursor row. For price order it is
+     * written as {@code price >= p AND (price > p OR id > lastId)} so the leading
+     * range condition can drive a {@code (price, id)} index scan.
+     */
+    public static Specification<Product> after(ProductSort sort, KeysetRequest request) {
+        if (!request.hasCursor()) {
+            return (root, query, cb) -> null;
+        }
+
+        Long afterId = request.getAfterId();
+        if (!sort.isByPrice()) {
+            return (root, query, cb) -> sort.isDescending()
+                    ? cb.lessThan(root.get("id"), afterId)
+                    : cb.greaterThan(root.get("id"), afterId);
+        }
+
+        BigDecimal afterPrice = cursorPrice(request);
+        return (root, query, cb) -> {
+            Path<BigDecimal> price = root.get("price");
+            Path<Long> id = root.get("id");
+            if (sort.isDescending()) {
+                return cb.and(
+                        cb.lessThanOrEqualTo(price, afterPrice),
+                        cb.or(cb.lessThan(price, afterPrice), cb.lessThan(id, afterId))
+                );
+            }
+            return cb.and(
+                    cb.greaterThanOrEqualTo(price, afterPrice),
+                    cb.or(cb.greaterThan(price, afterPrice), cb.greaterThan(id, afterId))
+            );
+        };
+    }
+
+    private static BigDecimal cursorPrice(KeysetRequest request) {
+        if (request.getCursor().size() != 2) {
+            throw KeysetRequest.invalidCursor();
+        }
+        try {
+            return new BigDecimal(request.getCursor().get(0));
+        } catch (NumberFormatException ex) {
+            throw KeysetRequest.invalidCursor();
+        }
+    }
+}
@@ -1,7 +1,21 @@
 package finalproject.com.example.demo.repository;
 
+import finalproject.com.example.demo.dto.review.ReviewResponse;
 import finalproject.com.example.demo.entity.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ReviewRepository extends JpaRepository<Review, Long> {
+import java.util.List;
+
+public interface ReviewRepository extends JpaRepository<Review, Long>, KeysetRepository<Review> {
+
+    String SELECT_RESPONSE = "select new finalproject.com.example.demo.dto.review.ReviewResponse(r.id, r.user.id, r.product.id, r.rating, r.comment) from Review r";
+
+    @Query(SELECT_RESPONSE + " where r.id > :id order by r.id")
+    List<ReviewResponse> findResponsesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_RESPONSE + " where r.id < :id order by r.id desc")
+    List<ReviewResponse> findResponsesByIdLessThan(@Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
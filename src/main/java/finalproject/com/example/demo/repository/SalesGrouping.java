@@ -0,0 +1,27 @@
+package finalproject.com.example.demo.repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+/**
+ * Row granularity of a sales report; each grouping reads its own rollup table.
+ */
+public enum SalesGrouping {
+    DAY,
+    CATEGORY,
+    PRODUCT;
+
+    public static SalesGrouping from(String value) {
+        if (value == null || value.isBlank()) {
+            return DAY;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unsupported groupBy: " + value + " (use day, category or product)");
+        }
+    }
+}
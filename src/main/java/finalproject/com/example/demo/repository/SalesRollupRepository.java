@@ -0,0 +1,239 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.dto.report.SalesReportRow;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and writes t_sales_daily, t_sales_daily_categories and t_sales_daily_products.
+ * <p>
+ * Writers take a shared advisory lock per affected day and a rebuild takes the exclusive
+ * one, so a rebuild never races with a delta: either the writer commits first and the
+ * rebuild sees its rows, or the delta lands on top of the rebuilt totals.
+ */
+@Repository
+public class SalesRollupRepository {
+
+    static final int LOCK_CLASS = 0x5A1E5;
+
+    private static final String APPLY_DAILY = """
+            INSERT INTO t_sales_daily AS s (sales_date, status, order_count, units, revenue)
+            VALUES (:day, :status, :orderCount, :units, :revenue)
+            ON CONFLICT (sales_date, status) DO UPDATE SET
+                order_count = s.order_count + EXCLUDED.order_count,
+                units = s.units + EXCLUDED.units,
+                revenue = s.revenue + EXCLUDED.revenue
+            """;
+
+    private static final String APPLY_CATEGORIES = """
+            INSERT INTO t_sales_daily_categories AS s (sales_date, category_id, status, order_count, units, revenue)
+            VALUES (:day, :categoryId, :status, :orderCount, :units, :revenue)
+            ON CONFLICT (sales_date, category_id, status) DO UPDATE SET
+                order_count = s.order_count + EXCLUDED.order_count,
+                units = s.units + EXCLUDED.units,
+                revenue = s.revenue + EXCLUDED.revenue
+            """;
+
+    private static final String APPLY_PRODUCTS = """
+            INSERT INTO t_sales_daily_products AS s (sales_date, product_id, category_id, status, order_count, units, revenue)
+            VALUES (:day, :productId, :categoryId, :status, :orderCount, :units, :revenue)
+            ON CONFLICT (sales_date, product_id, status) DO UPDATE SET
+                category_id = EXCLUDED.category_id,
+                order_count = s.order_count + EXCLUDED.order_count,
+                units = s.units + EXCLUDED.units,
+                revenue = s.revenue + EXCLUDED.revenue
+            """;
+
+    // created_at from t_order_dates keeps both reads of one order to that order's partition
+    private static final String LOCK_ORDER = """
+            SELECT id FROM t_orders
+            WHERE id = :orderId AND created_at = (SELECT created_at FROM t_order_dates WHERE order_id = :orderId)
+            FOR UPDATE
+            """;
+
+    private static final String FIND_ORDER_SALES = """
+            SELECT o.created_at, o.status, i.product_id, i.category_id, i.quantity, i.price_at_purchase
+            FROM t_orders o
+            LEFT JOIN t_order_items i ON i.order_id = o.id AND i.order_created_at = o.created_at
+            WHERE o.id = :orderId AND o.created_at = (SELECT created_at FROM t_order_dates WHERE order_id = :orderId)
+            ORDER BY i.id
+            """;
+
+    private static final String REBUILD_DAILY = """
+            INSERT INTO t_sales_daily (sales_date, status, order_count, units, revenue)
+            SELECT CAST(:day AS DATE), o.status, COUNT(DISTINCT o.id),
+                   COALESCE(SUM(i.quantity), 0), COALESCE(SUM(i.quantity * i.price_at_purchase), 0)
+            FROM t_orders o
+            LEFT JOIN t_order_items i ON i.order_id = o.id AND i.order_created_at = o.created_at
+            WHERE o.created_at >= :start AND o.created_at < :end
+            GROUP BY o.status
+            """;
+
+    private static final String REBUILD_CATEGORIES = """
+            INSERT INTO t_sales_daily_categories (sales_date, category_id, status, order_count, units, revenue)
+            SELECT CAST(:day AS DATE), i.category_id, o.status, COUNT(DISTINCT o.id),
+                   SUM(i.quantity), SUM(i.quantity * i.price_at_purchase)
+            FROM t_orders o
+            JOIN t_order_items i ON i.order_id = o.id AND i.order_created_at = o.created_at
+            WHERE o.created_at >= :start AND o.created_at < :end
+            GROUP BY i.category_id, o.status
+            """;
+
+    // a product moved to another category during the day keeps one row, labelled with its latest sale's category
+    private static final String REBUILD_PRODUCTS = """
+            INSERT INTO t_sales_daily_products (sales_date, product_id, category_id, status, order_count, units, revenue)
+            SELECT CAST(:day AS DATE), i.product_id, (array_agg(i.category_id ORDER BY i.id DESC))[1], o.status,
+                   COUNT(DISTINCT o.id), SUM(i.quantity), SUM(i.quantity * i.price_at_purchase)
+            FROM t_orders o
+            JOIN t_order_items i ON i.order_id = o.id AND i.order_created_at = o.created_at
+            WHERE o.created_at >= :start AND o.created_at < :end
+            GROUP BY i.product_id, o.status
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SalesRollupRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Row lock that serializes rollup updates for one order; taken before its "before" state is read.
+     */
+    public void lockOrder(Long orderId) {
+        jdbcTemplate.queryForList(LOCK_ORDER, new MapSqlParameterSource("orderId", orderId), Long.class);
+    }
+
+    public OrderSales findOrderSales(Long orderId) {
+        return jdbcTemplate.query(FIND_ORDER_SALES, new MapSqlParameterSource("orderId", orderId), rs -> {
+            if (!rs.next()) {
+                return OrderSales.none(orderId);
+            }
+            LocalDate day = rs.getTimestamp("created_at").toLocalDateTime().toLocalDate();
+            String status = rs.getString("status");
+            List<OrderSales.Line> lines = new ArrayList<>();
+            do {
+                long productId = rs.getLong("product_id");
+                if (!rs.wasNull()) {
+                    lines.add(new OrderSales.Line(productId, rs.getLong("category_id"),
+                            rs.getInt("quantity"), rs.getBigDecimal("price_at_purchase")));
+                }
+            } while (rs.next());
+            return new OrderSales(orderId, day, status, lines);
+        });
+    }
+
+    public void lockDayShared(LocalDate day) {
+        lockDay("pg_advisory_xact_lock_shared", day);
+    }
+
+    public void lockDayExclusive(LocalDate day) {
+        lockDay("pg_advisory_xact_lock", day);
+    }
+
+    private void lockDay(String function, LocalDate day) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("lockClass", LOCK_CLASS)
+                .addValue("day", (int) day.toEpochDay());
+        jdbcTemplate.query("SELECT " + function + "(:lockClass, :day)", params, rs -> {
+        });
+    }
+
+    public void applyDaily(List<SalesTotals> deltas) {
+        jdbcTemplate.batchUpdate(APPLY_DAILY, SqlParameterSourceUtils.createBatch(deltas));
+    }
+
+    public void applyCategories(List<SalesTotals> deltas) {
+        jdbcTemplate.batchUpdate(APPLY_CATEGORIES, SqlParameterSourceUtils.createBatch(deltas));
+    }
+
+    public void applyProducts(List<SalesTotals> deltas) {
+        jdbcTemplate.batchUpdate(APPLY_PRODUCTS, SqlParameterSourceUtils.createBatch(deltas));
+    }
+
+    /**
+     * Replaces every rollup row of {@code day} with totals recomputed from the orders of that
+     * day, which partition pruning keeps to one month of t_orders / t_order_items.
+     */
+    public long rebuildDay(LocalDate day) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("day", day)
+                .addValue("start", day.atStartOfDay())
+                .addValue("end", day.plusDays(1).atStartOfDay());
+        jdbcTemplate.update("DELETE FROM t_sales_daily WHERE sales_date = :day", params);
+        jdbcTemplate.update("DELETE FROM t_sales_daily_categories WHERE sales_date = :day", params);
+        jdbcTemplate.update("DELETE FROM t_sales_daily_products WHERE sales_date = :day", params);
+        return (long) jdbcTemplate.update(REBUILD_DAILY, params)
+                + jdbcTemplate.update(REBUILD_CATEGORIES, params)
+                + jdbcTemplate.update(REBUILD_PRODUCTS, params);
+    }
+
+    public LocalDate findFirstOrderDate() {
+        Date first = jdbcTemplate.getJdbcTemplate()
+                .queryForObject("SELECT CAST(MIN(created_at) AS DATE) FROM t_orders", Date.class);
+        return first != null ? first.toLocalDate() : null;
+    }
+
+    /**
+     * Sums the rollup rows of {@code [from, to)} for the given statuses. Day rows come back in
+     * date order; category and product rows by revenue, highest first, at most {@code limit}.
+     */
+    public List<SalesReportRow> findSales(
+            SalesGrouping grouping,
+            LocalDate from,
+            LocalDate to,
+            Collection<String> statuses,
+            int limit
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("statuses", statuses)
+                .addValue("limit", limit);
+        String totals = """
+                SUM(s.order_count) AS order_count, SUM(s.units) AS units, SUM(s.revenue) AS revenue
+                """;
+        String where = """
+                WHERE s.sales_date >= :from AND s.sales_date < :to AND s.status IN (:statuses)
+                """;
+
+        return switch (grouping) {
+            case DAY -> jdbcTemplate.query(
+                    "SELECT s.sales_date, " + totals
+                            + "FROM t_sales_daily s " + where
+                            + "GROUP BY s.sales_date HAVING SUM(s.order_count) <> 0 ORDER BY s.sales_date",
+                    params,
+                    (rs, rowNum) -> new SalesReportRow(rs.getDate("sales_date").toLocalDate(), null, null, null, null,
+                            rs.getLong("order_count"), rs.getLong("units"), revenue(rs.getBigDecimal("revenue"))));
+            case CATEGORY -> jdbcTemplate.query(
+                    "SELECT s.category_id, c.name AS category_name, " + totals
+                            + "FROM t_sales_daily_categories s LEFT JOIN t_categories c ON c.id = s.category_id " + where
+                            + "GROUP BY s.category_id, c.name HAVING SUM(s.order_count) <> 0 "
+                            + "ORDER BY revenue DESC, s.category_id LIMIT :limit",
+                    params,
+                    (rs, rowNum) -> new SalesReportRow(null, rs.getLong("category_id"), rs.getString("category_name"),
+                            null, null, rs.getLong("order_count"), rs.getLong("units"), revenue(rs.getBigDecimal("revenue"))));
+            case PRODUCT -> jdbcTemplate.query(
+                    "SELECT s.product_id, p.name AS product_name, p.category_id, " + totals
+                            + "FROM t_sales_daily_products s LEFT JOIN t_products p ON p.id = s.product_id " + where
+                            + "GROUP BY s.product_id, p.name, p.category_id HAVING SUM(s.order_count) <> 0 "
+                            + "ORDER BY revenue DESC, s.product_id LIMIT :limit",
+                    params,
+                    (rs, rowNum) -> new SalesReportRow(null, rs.getObject("category_id", Long.class), null,
+                            rs.getLong("product_id"), rs.getString("product_name"),
+                            rs.getLong("order_count"), rs.getLong("units"), revenue(rs.getBigDecimal("revenue"))));
+        };
+    }
+
+    private static BigDecimal revenue(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
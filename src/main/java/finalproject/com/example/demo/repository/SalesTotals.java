@@ -0,0 +1,73 @@
+package finalproject.com.example.demo.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Order count, units and revenue for one rollup row; {@code categoryId} and {@code productId}
+ * are set according to the table the row belongs to.
+ */
+public class SalesTotals {
+
+    /**
+     * Order in which delta rows are written, so concurrent transactions lock rows in the same order.
+     */
+    public static final Comparator<SalesTotals> KEY_ORDER = Comparator.comparing(SalesTotals::getDay)
+            .thenComparing(SalesTotals::getProductId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SalesTotals::getCategoryId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SalesTotals::getStatus);
+
+    private final LocalDate day;
+    private final Long categoryId;
+    private final Long productId;
+    private final String status;
+    private long orderCount;
+    private long units;
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    public SalesTotals(LocalDate day, Long categoryId, Long productId, String status) {
+        this.day = day;
+        this.categoryId = categoryId;
+        this.productId = productId;
+        this.status = status;
+    }
+
+    public void add(long orderCount, long units, BigDecimal revenue) {
+        this.orderCount += orderCount;
+        this.units += units;
+        this.revenue = this.revenue.add(revenue);
+    }
+
+    public boolean isZero() {
+        return orderCount == 0 && units == 0 && revenue.signum() == 0;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+}
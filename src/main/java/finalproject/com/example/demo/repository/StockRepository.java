@@ -0,0 +1,154 @@
+package finalproject.com.example.demo.repository;
+
+import finalproject.com.example.demo.dto.stock.StockResponse;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads and writes t_product_stock_slots and t_stock_reservations.
+ * <p>
+ * Stock only ever goes down through a conditional decrement, and the CHECK on the slot
+ * quantity backs that up: no interleaving of checkouts can take a slot below zero.
+ */
+@Repository
+public class StockRepository {
+
+    /**
+     * Takes the whole quantity from one slot that still has enough. Slots locked by other
+     * checkouts are skipped rather than waited for, and the random pick spreads concurrent
+     * buyers of a hot product over its slots instead of queueing them on the first one.
+     */
+    private static final String TAKE_FROM_ANY_SLOT = """
+            UPDATE t_product_stock_slots s
+            SET quantity = s.quantity - :quantity
+            WHERE (s.product_id, s.slot) = (
+                SELECT product_id, slot
+                FROM t_product_stock_slots
+                WHERE product_id = :productId AND quantity >= :quantity
+                ORDER BY random()
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING s.slot
+            """;
+
+    private static final String TAKE_FROM_SLOT = """
+            UPDATE t_product_stock_slots
+            SET quantity = quantity - :quantity
+            WHERE product_id = :productId AND slot = :slot AND quantity >= :quantity
+            """;
+
+    /**
+     * Returns stock to the slot it came from, or to slot 0 if the stock has since been
+     * re-split into fewer slots. Products that are no longer tracked get nothing back.
+     */
+    private static final String RESTORE = """
+            UPDATE t_product_stock_slots
+            SET quantity = quantity + :quantity
+            WHERE product_id = :productId
+              AND slot = COALESCE(
+                  (SELECT slot FROM t_product_stock_slots WHERE product_id = :productId AND slot = :slot), 0)
+            """;
+
+    private static final String UPSERT_SLOT = """
+            INSERT INTO t_product_stock_slots (product_id, slot, quantity)
+            VALUES (:productId, :slot, :quantity)
+            ON CONFLICT (product_id, slot) DO UPDATE SET quantity = EXCLUDED.quantity
+            """;
+
+    private static final String INSERT_RESERVATION = """
+            INSERT INTO t_stock_reservations (order_id, product_id, slot, quantity)
+            VALUES (:orderId, :productId, :slot, :quantity)
+            """;
+
+    private static final String DELETE_RESERVATIONS = """
+            DELETE FROM t_stock_reservations
+            WHERE order_id = :orderId
+            RETURNING order_id, product_id, slot, quantity
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public StockRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return the slot the quantity was taken from, or {@code null} if no single unlocked slot had enough
+     */
+    public Integer takeFromAnySlot(Long productId, int quantity) {
+        List<Integer> slots = jdbcTemplate.query(TAKE_FROM_ANY_SLOT, params(productId, quantity),
+                (rs, rowNum) -> rs.getInt("slot"));
+        return slots.isEmpty() ? null : slots.get(0);
+    }
+
+    /**
+     * Locks every slot of the product in slot order; empty if the product's stock is not tracked.
+     */
+    public List<StockSlot> lockSlots(Long productId) {
+        return jdbcTemplate.query("""
+                        SELECT slot, quantity FROM t_product_stock_slots
+                        WHERE product_id = :productId
+                        ORDER BY slot
+                        FOR UPDATE
+                        """,
+                new MapSqlParameterSource("productId", productId),
+                (rs, rowNum) -> new StockSlot(rs.getInt("slot"), rs.getInt("quantity")));
+    }
+
+    public boolean takeFromSlot(Long productId, int slot, int quantity) {
+        return jdbcTemplate.update(TAKE_FROM_SLOT, params(productId, quantity).addValue("slot", slot)) == 1;
+    }
+
+    public void saveReservations(List<StockReservation> reservations) {
+        jdbcTemplate.batchUpdate(INSERT_RESERVATION, SqlParameterSourceUtils.createBatch(reservations));
+    }
+
+    public List<StockReservation> deleteReservations(Long orderId) {
+        return jdbcTemplate.query(DELETE_RESERVATIONS, new MapSqlParameterSource("orderId", orderId),
+                (rs, rowNum) -> new StockReservation(rs.getLong("order_id"), rs.getLong("product_id"),
+                        rs.getInt("slot"), rs.getInt("quantity")));
+    }
+
+    public void restore(List<StockReservation> reservations) {
+        jdbcTemplate.batchUpdate(RESTORE, SqlParameterSourceUtils.createBatch(reservations));
+    }
+
+    public StockResponse findStock(Long productId) {
+        return jdbcTemplate.queryForObject("""
+                        SELECT COUNT(*) AS slots, COALESCE(SUM(quantity), 0) AS available
+                        FROM t_product_stock_slots
+                        WHERE product_id = :productId
+                        """,
+                new MapSqlParameterSource("productId", productId),
+                (rs, rowNum) -> {
+                    int slots = rs.getInt("slots");
+                    return new StockResponse(productId, slots > 0, rs.getLong("available"), slots);
+                });
+    }
+
+    /**
+     * Sets the product's stock to {@code quantities}, one entry per slot. Existing rows are
+     * updated in place rather than deleted and re-inserted, so a checkout running at the same
+     * time never sees the product without stock rows and mistakes it for untracked.
+     */
+    public void replaceSlots(Long productId, int[] quantities) {
+        MapSqlParameterSource[] batch = new MapSqlParameterSource[quantities.length];
+        for (int slot = 0; slot < quantities.length; slot++) {
+            batch[slot] = params(productId, quantities[slot]).addValue("slot", slot);
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SLOT, batch);
+        jdbcTemplate.update("DELETE FROM t_product_stock_slots WHERE product_id = :productId AND slot >= :slots",
+                new MapSqlParameterSource("productId", productId).addValue("slots", quantities.length));
+    }
+
+    private static MapSqlParameterSource params(Long productId, int quantity) {
+        return new MapSqlParameterSource()
+                .addValue("productId", productId)
+                .addValue("quantity", quantity);
+    }
+}
@@ -0,0 +1,46 @@
+package finalproject.com.example.demo.repository;
+
+import java.util.Comparator;
+
+/**
+ * Stock an order took from one slot of a product. Kept so that exactly that amount can be
+ * given back when the order is cancelled or deleted.
+ */
+public class StockReservation {
+
+    /**
+     * Slot order used whenever several slots are written in one transaction, so concurrent
+     * writers always lock rows in the same sequence.
+     */
+    public static final Comparator<StockReservation> SLOT_ORDER = Comparator
+            .comparing(StockReservation::getProductId)
+            .thenComparingInt(StockReservation::getSlot);
+
+    private final Long orderId;
+    private final Long productId;
+    private final int slot;
+    private final int quantity;
+
+    public StockReservation(Long orderId, Long productId, int slot, int quantity) {
+        this.orderId = orderId;
+        this.productId = productId;
+        this.slot = slot;
+        this.quantity = quantity;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
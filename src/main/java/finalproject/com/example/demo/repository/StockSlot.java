@@ -0,0 +1,23 @@
+package finalproject.com.example.demo.repository;
+
+/**
+ * One row of a product's stock; the product's stock is the sum of its slots.
+ */
+public class StockSlot {
+
+    private final int slot;
+    private final int quantity;
+
+    public StockSlot(int slot, int quantity) {
+        this.slot = slot;
+        this.quantity = quantity;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
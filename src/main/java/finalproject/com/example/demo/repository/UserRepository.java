@@ -2,11 +2,17 @@ package finalproject.com.example.demo.repository;
 
 import finalproject.com.example.demo.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Set;
+
 @Repository
 @Transactional
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, KeysetRepository<User> {
     User findByEmail(String email);
+
+    @Query("select u.id from User u")
+    Set<Long> findAllIds();
 }
@@ -0,0 +1,286 @@
+package finalproject.com.example.demo.search;
+
+import finalproject.com.example.demo.entity.Product;
+import finalproject.com.example.demo.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over product name and description, ranked with BM25.
+ * Query terms that are not in the dictionary are expanded to similar terms by
+ * trigram overlap, which tolerates typos without scanning the table.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_BOOST = 2;
+    private static final double MIN_SIMILARITY = 0.4;
+    private static final int MAX_EXPANSIONS = 3;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        State fresh = new State();
+        forEachProductAfter(0L, product -> fresh.add(product.getId(), product.getName(), product.getDescription()));
+
+        lock.writeLock().lock();
+        try {
+            state = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product search index built with {} products and {} terms", fresh.docs.size(), fresh.postings.size());
+    }
+
+    /**
+     * Indexes every product with an id above {@code afterId}, e.g. rows written by the bulk import.
+     */
+    public void indexAfter(Long afterId) {
+        forEachProductAfter(afterId, this::index);
+    }
+
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            state.remove(product.getId());
+            state.add(product.getId(), product.getName(), product.getDescription());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the best matching products, highest score first.
+     */
+    public List<Long> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : queryTerms) {
+                for (Map.Entry<String, Double> expansion : state.expand(term).entrySet()) {
+                    state.score(expansion.getKey(), expansion.getValue(), scores);
+                }
+            }
+            return topK(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void forEachProductAfter(Long afterId, Consumer<Product> action) {
+        Long lastId = afterId;
+        List<Product> batch;
+        do {
+            batch = productRepository.findByIdGreaterThan(
+                    lastId, PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            for (Product product : batch) {
+                action.accept(product);
+                lastId = product.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+    }
+
+    private static List<Long> topK(Map<Long, Double> scores, int limit) {
+        Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(byScore);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ids.add(heap.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        if (grams.isEmpty()) {
+            grams.add(padded);
+        }
+        return grams;
+    }
+
+    private static final class Doc {
+        private final Map<String, Integer> termFrequencies;
+        private final int length;
+
+        private Doc(Map<String, Integer> termFrequencies, int length) {
+            this.termFrequencies = termFrequencies;
+            this.length = length;
+        }
+    }
+
+    private static final class State {
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final Map<String, Set<String>> trigramTerms = new HashMap<>();
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private long totalLength;
+
+        private void add(Long id, String name, String description) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            int length = 0;
+            for (String token : tokenize(name)) {
+                frequencies.merge(token, NAME_BOOST, Integer::sum);
+                length += NAME_BOOST;
+            }
+            for (String token : tokenize(description)) {
+                frequencies.merge(token, 1, Integer::sum);
+                length++;
+            }
+
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                Map<Long, Integer> posting = postings.computeIfAbsent(entry.getKey(), term -> {
+                    for (String gram : trigrams(term)) {
+                        trigramTerms.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+                    }
+                    return new HashMap<>();
+                });
+                posting.put(id, entry.getValue());
+            }
+            docs.put(id, new Doc(frequencies, length));
+            totalLength += length;
+        }
+
+        private void remove(Long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            totalLength -= doc.length;
+            for (String term : doc.termFrequencies.keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                    for (String gram : trigrams(term)) {
+                        Set<String> terms = trigramTerms.get(gram);
+                        terms.remove(term);
+                        if (terms.isEmpty()) {
+                            trigramTerms.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Maps a query term to the dictionary terms it should match, with a weight
+         * of 1 for an exact hit and the trigram Jaccard similarity otherwise.
+         */
+        private Map<String, Double> expand(String term) {
+            if (postings.containsKey(term)) {
+                return Map.of(term, 1.0);
+            }
+
+            Set<String> grams = trigrams(term);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : grams) {
+                for (String candidate : trigramTerms.getOrDefault(gram, Set.of())) {
+                    shared.merge(candidate, 1, Integer::sum);
+                }
+            }
+
+            Map<String, Double> expansions = new HashMap<>();
+            shared.entrySet().stream()
+                    .map(entry -> {
+                        int candidateGrams = trigrams(entry.getKey()).size();
+                        double similarity = (double) entry.getValue() / (grams.size() + candidateGrams - entry.getValue());
+                        return Map.entry(entry.getKey(), similarity);
+                    })
+                    .filter(entry -> entry.getValue() >= MIN_SIMILARITY)
+                    .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                    .limit(MAX_EXPANSIONS)
+                    .forEach(entry -> expansions.put(entry.getKey(), entry.getValue()));
+            return expansions;
+        }
+
+        private void score(String term, double weight, Map<Long, Double> scores) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting == null || docs.isEmpty()) {
+                return;
+            }
+
+            int documentCount = docs.size();
+            double averageLength = (double) totalLength / documentCount;
+            double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+
+            for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+                int tf = entry.getValue();
+                int length = docs.get(entry.getKey()).length;
+                double norm = tf + K1 * (1 - B + B * length / averageLength);
+                scores.merge(entry.getKey(), weight * idf * tf * (K1 + 1) / norm, Double::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package finalproject.com.example.demo.search;
+
+import finalproject.com.example.demo.dto.product.ProductSuggestion;
+import finalproject.com.example.demo.entity.Product;
+import finalproject.com.example.demo.repository.OrderItemRepository;
+import finalproject.com.example.demo.repository.ProductPopularity;
+import finalproject.com.example.demo.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie over product names for autocomplete. Chains of single-child nodes are collapsed
+ * into one edge label, and only nodes where names branch keep the {@link #MAX_SUGGESTIONS}
+ * most popular names below them; a lookup walks the prefix edge by edge and merges at most
+ * the short chain under it. Popularity is the number of units sold: loaded when the trie is
+ * built, bumped by each checkout and reloaded every {@code app.search.suggest.refresh-interval}
+ * to take in cancellations and edited items.
+ */
+@Component
+public class ProductSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSuggestIndex.class);
+
+    public static final int MAX_SUGGESTIONS = 10;
+    static final int MAX_KEY_LENGTH = 64;
+
+    private static final Comparator<Entry> BY_POPULARITY = Comparator.comparingLong((Entry entry) -> entry.popularity)
+            .reversed()
+            .thenComparing(entry -> entry.key)
+            .thenComparingLong(entry -> entry.productId);
+
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+
+    public ProductSuggestIndex(ProductRepository productRepository, OrderItemRepository orderItemRepository) {
+        this.productRepository = productRepository;
+        this.orderItemRepository = orderItemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, Long> popularity = new HashMap<>();
+        for (ProductPopularity row : orderItemRepository.sumQuantityByProduct()) {
+            popularity.put(row.getProductId(), row.getQuantity());
+        }
+
+        State fresh = new State();
+        for (ProductSuggestion product : productRepository.findSuggestionsByIdGreaterThan(0L)) {
+            fresh.add(product.getId(), product.getName(), popularity.getOrDefault(product.getId(), 0L));
+        }
+
+        lock.writeLock().lock();
+        try {
+            state = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product suggest index built with {} names", fresh.entries.size());
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.search.suggest.refresh-interval:1h}",
+            initialDelayString = "${app.search.suggest.refresh-interval:1h}"
+    )
+    public void refresh() {
+        rebuild();
+    }
+
+    /**
+     * Adds the units of a checkout to the products' popularity once the surrounding transaction
+     * commits, or right away when there is none.
+     */
+    public void recordSales(Map<Long, Integer> quantities) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applySales(quantities);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applySales(quantities);
+            }
+        });
+    }
+
+    private void applySales(Map<Long, Integer> quantities) {
+        lock.writeLock().lock();
+        try {
+            quantities.forEach(state::bump);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds every product with an id above {@code afterId}, e.g. rows written by the bulk import.
+     */
+    public void indexAfter(Long afterId) {
+        List<ProductSuggestion> products = productRepository.findSuggestionsByIdGreaterThan(afterId);
+        lock.writeLock().lock();
+        try {
+            for (ProductSuggestion product : products) {
+                state.put(product.getId(), product.getName());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            state.put(product.getId(), product.getName());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} products whose name starts with {@code prefix}, most popular first.
+     */
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = state.root.find(key);
+            if (node == null) {
+                return List.of();
+            }
+
+            Entry[] top = node.ranking();
+            int size = Math.min(limit, top.length);
+            List<ProductSuggestion> suggestions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                suggestions.add(new ProductSuggestion(top[i].productId, top[i].name));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String key = text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static final class Entry {
+        private final long productId;
+        private final String name;
+        private final String key;
+        private final long popularity;
+
+        private Entry(long productId, String name, long popularity) {
+            this.productId = productId;
+            this.name = name;
+            this.key = normalize(name);
+            this.popularity = popularity;
+        }
+    }
+
+    /**
+     * A node is reached from its parent over {@code label}; its children are indexed by the
+     * first character of their labels. Apart from the root, a node either holds names or has
+     * two or more children, since a single-child chain is merged into one label.
+     */
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private String label;
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private List<Entry> terminals = List.of();
+        /** Best names of the subtree; kept only while the node branches, null otherwise. */
+        private Entry[] top;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        /**
+         * The node whose subtree holds exactly the names starting with {@code key}; the key may
+         * end inside that node's label.
+         */
+        private Node find(String key) {
+            Node node = this;
+            int at = 0;
+            while (at < key.length()) {
+                node = node.child(key.charAt(at));
+                if (node == null) {
+                    return null;
+                }
+                int length = Math.min(node.label.length(), key.length() - at);
+                if (!key.regionMatches(at, node.label, 0, length)) {
+                    return null;
+                }
+                at += length;
+            }
+            return node;
+        }
+
+        private Entry[] ranking() {
+            if (top != null) {
+                return top;
+            }
+            if (children.length == 0 && terminals.size() == 1) {
+                return new Entry[]{terminals.get(0)};
+            }
+            List<Entry> candidates = new ArrayList<>(terminals);
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.ranking()));
+            }
+            candidates.sort(BY_POPULARITY);
+            return candidates.subList(0, Math.min(candidates.size(), MAX_SUGGESTIONS)).toArray(NO_ENTRIES);
+        }
+
+        private void putChild(Node node) {
+            char c = node.label.charAt(0);
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                children[index] = node;
+                return;
+            }
+            int at = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newKeys[at] = c;
+            newChildren[at] = node;
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private void removeChild(char c) {
+            int at = Arrays.binarySearch(keys, c);
+            if (at < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            System.arraycopy(keys, at + 1, newKeys, at, keys.length - at - 1);
+            System.arraycopy(children, at + 1, newChildren, at, children.length - at - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private boolean branches() {
+            return children.length > 1;
+        }
+
+        private boolean ranks(Entry entry) {
+            for (Entry candidate : top) {
+                if (candidate == entry) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Brings the ranking up to date after {@code entry} was added below this node.
+         */
+        private void added(Entry entry) {
+            if (!branches()) {
+                top = null;
+            } else if (top == null) {
+                recompute();
+            } else {
+                offer(entry);
+            }
+        }
+
+        /**
+         * Brings the ranking up to date after {@code entry} was removed from below this node.
+         */
+        private void removed(Entry entry) {
+            if (!branches()) {
+                top = null;
+            } else if (top == null || ranks(entry)) {
+                recompute();
+            }
+        }
+
+        private void offer(Entry entry) {
+            if (top.length == MAX_SUGGESTIONS && BY_POPULARITY.compare(entry, top[top.length - 1]) >= 0) {
+                return;
+            }
+            int at = 0;
+            while (at < top.length && BY_POPULARITY.compare(top[at], entry) < 0) {
+                at++;
+            }
+            int size = Math.min(top.length + 1, MAX_SUGGESTIONS);
+            Entry[] merged = new Entry[size];
+            System.arraycopy(top, 0, merged, 0, at);
+            merged[at] = entry;
+            System.arraycopy(top, at, merged, at + 1, size - at - 1);
+            top = merged;
+        }
+
+        /**
+         * Rebuilds the ranking from this node's own names and its children's rankings,
+         * which are already the best of their subtrees.
+         */
+        private void recompute() {
+            top = null;
+            top = ranking();
+        }
+    }
+
+    private static final class State {
+        private final Node root = new Node("");
+        private final Map<Long, Entry> entries = new HashMap<>();
+
+        /**
+         * Inserts or renames a product; a rename keeps the popularity already known for it.
+         */
+        private void put(Long productId, String name) {
+            Entry existing = entries.get(productId);
+            if (existing != null && existing.name.equals(name)) {
+                return;
+            }
+            long popularity = existing != null ? existing.popularity : 0L;
+            remove(productId);
+            add(productId, name, popularity);
+        }
+
+        private void bump(Long productId, int units) {
+            Entry existing = entries.get(productId);
+            if (existing == null || units <= 0) {
+                return;
+            }
+            remove(productId);
+            add(productId, existing.name, existing.popularity + units);
+        }
+
+        private void add(Long productId, String name, long popularity) {
+            Entry entry = new Entry(productId, name, popularity);
+            String key = entry.key;
+            if (key.isEmpty()) {
+                return;
+            }
+            entries.put(productId, entry);
+
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            int at = 0;
+            while (at < key.length()) {
+                path.add(node);
+                Node child = node.child(key.charAt(at));
+                if (child == null) {
+                    child = new Node(key.substring(at));
+                    node.putChild(child);
+                    node = child;
+                    break;
+                }
+                int common = 1;
+                while (common < child.label.length() && at + common < key.length()
+                        && child.label.charAt(common) == key.charAt(at + common)) {
+                    common++;
+                }
+                if (common < child.label.length()) {
+                    Node split = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    split.putChild(child);
+                    node.putChild(split);
+                    child = split;
+                }
+                node = child;
+                at += common;
+            }
+            List<Entry> terminals = new ArrayList<>(node.terminals);
+            terminals.add(entry);
+            node.terminals = terminals;
+
+            node.added(entry);
+            for (int depth = path.size() - 1; depth >= 0; depth--) {
+                path.get(depth).added(entry);
+            }
+        }
+
+        private void remove(Long productId) {
+            Entry entry = entries.remove(productId);
+            if (entry == null) {
+                return;
+            }
+
+            List<Node> path = new ArrayList<>();
+            path.add(root);
+            Node node = root;
+            for (int at = 0; at < entry.key.length(); at += node.label.length()) {
+                node = node.child(entry.key.charAt(at));
+                path.add(node);
+            }
+
+            List<Entry> terminals = new ArrayList<>(node.terminals);
+            terminals.remove(entry);
+            node.terminals = terminals.isEmpty() ? List.of() : terminals;
+
+            for (int depth = path.size() - 1; depth > 0; depth--) {
+                Node current = path.get(depth);
+                Node parent = path.get(depth - 1);
+                if (current.terminals.isEmpty() && current.children.length == 0) {
+                    parent.removeChild(current.label.charAt(0));
+                } else if (current.terminals.isEmpty() && current.children.length == 1) {
+                    Node only = current.children[0];
+                    only.label = current.label + only.label;
+                    parent.putChild(only);
+                } else {
+                    current.removed(entry);
+                }
+            }
+            root.removed(entry);
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package finalproject.com.example.demo.security.jwt;
 
+import finalproject.com.example.demo.cache.UserDetailsCache;
 import finalproject.com.example.demo.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,17 +20,22 @@ import org.springframework.context.annotation.Lazy;
 
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserService userService;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenRevocations tokenRevocations;
 
     //lazy
-    public JwtAuthFilter(JwtService jwtService, @Lazy UserService userService) {
+    public JwtAuthFilter(JwtService jwtService, @Lazy UserService userService, UserDetailsCache userDetailsCache, TokenRevocations tokenRevocations) {
         this.jwtService = jwtService;
         this.userService = userService;
+        this.userDetailsCache = userDetailsCache;
+        this.tokenRevocations = tokenRevocations;
     }
 
 
@@ -45,19 +54,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         String jwt = authHeader.substring(7);
-        String username;
+        Claims claims;
 
         try {
-            username = jwtService.extractUsername(jwt);
-        } catch (Exception e) {
+            claims = jwtService.parseClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
+        if (claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolvePrincipal(claims);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -72,4 +81,27 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Builds the principal from the token alone; the only check beyond the signature is the
+     * in-memory revocation list. Tokens issued before they carried roles fall back to loading
+     * the user until they expire. Returns {@code null} for a revoked token.
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        Number userId = claims.get(JwtService.USER_ID_CLAIM, Number.class);
+        Number tokenVersion = claims.get(JwtService.TOKEN_VERSION_CLAIM, Number.class);
+        List<?> roles = claims.get(JwtService.ROLES_CLAIM, List.class);
+        if (userId == null || tokenVersion == null || roles == null) {
+            return userDetailsCache.get(claims.getSubject(), userService::loadUserByUsername);
+        }
+
+        if (tokenRevocations.isRevoked(userId.longValue(), tokenVersion.intValue())) {
+            return null;
+        }
+        return new org.springframework.security.core.userdetails.User(
+                claims.getSubject(),
+                "",
+                roles.stream().map(role -> new SimpleGrantedAuthority(String.valueOf(role))).toList()
+        );
+    }
 }
@@ -1,10 +1,14 @@
 package finalproject.com.example.demo.security.jwt;
 
+import finalproject.com.example.demo.cache.VerifiedTokenCache;
+import finalproject.com.example.demo.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
@@ -14,48 +18,57 @@ import java.util.Date;
 @Service
 public class JwtService {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLES_CLAIM = "roles";
+    static final String TOKEN_VERSION_CLAIM = "ver";
+
     private final SecretKey key;
     private final long expirationMs;
+    private final JwtParser parser;
+    private final VerifiedTokenCache verifiedTokens;
 
     public JwtService(
             @Value("${security.jwt.secret}") String secret,
-            @Value("${security.jwt.expiration-ms}") long expirationMs
+            @Value("${security.jwt.expiration-ms}") long expirationMs,
+            VerifiedTokenCache verifiedTokens
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        // immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = verifiedTokens;
     }
 
-    public String generateToken(UserDetails userDetails) {
+    /**
+     * Besides the subject, the token carries the user id, roles and token version, which is
+     * everything needed to authorize a request without loading the user.
+     */
+    public String generateToken(User user) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + expirationMs);
 
         return Jwts.builder()
-                .subject(userDetails.getUsername())
+                .subject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
                 .issuedAt(now)
                 .expiration(exp)
                 .signWith(key)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        Date exp = extractAllClaims(token).getExpiration();
-        return exp.before(new Date());
+    /**
+     * Verifies the signature and expiry and returns the claims. A token seen before is
+     * answered from the verified-token cache until it expires.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseClaims(String token) {
+        return verifiedTokens.get(token, this::verify);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private Claims verify(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
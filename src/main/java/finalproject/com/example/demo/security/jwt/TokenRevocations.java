@@ -0,0 +1,64 @@
+package finalproject.com.example.demo.security.jwt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimum accepted token version per user, so bearer tokens can be checked without touching
+ * the database. Only users whose version was ever bumped have an entry.
+ * <p>
+ * Revocations made on this node apply at once; those made on other nodes are picked up by the
+ * periodic refresh. Entries only ever grow, so a refresh can never re-admit a revoked token,
+ * and users deleted on this node stay revoked even though the database no longer has them.
+ */
+@Component
+public class TokenRevocations {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocations.class);
+
+    /**
+     * Minimum version for users that were deleted: no token of theirs is accepted any more.
+     */
+    public static final int ALL = Integer.MAX_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Integer> minimumVersions = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    public TokenRevocations(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isRevoked(long userId, int tokenVersion) {
+        if (!loaded) {
+            refresh();
+        }
+        Integer minimum = minimumVersions.get(userId);
+        return minimum != null && tokenVersion < minimum;
+    }
+
+    /**
+     * Rejects every token of the user issued with a version below {@code minimumVersion}.
+     */
+    public void revokeBefore(long userId, int minimumVersion) {
+        minimumVersions.merge(userId, minimumVersion, Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocations.refresh-interval:30s}")
+    public synchronized void refresh() {
+        int[] count = {0};
+        jdbcTemplate.query("SELECT id, token_version FROM t_users WHERE token_version > 0", rs -> {
+            revokeBefore(rs.getLong("id"), rs.getInt("token_version"));
+            count[0]++;
+        });
+        loaded = true;
+        log.debug("Token revocations refreshed: {} users with revoked tokens", count[0]);
+    }
+}
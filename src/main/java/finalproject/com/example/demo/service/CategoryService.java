@@ -2,6 +2,10 @@ package finalproject.com.example.demo.service;
 
 import finalproject.com.example.demo.dto.category.CategoryRequest;
 import finalproject.com.example.demo.dto.category.CategoryResponse;
+import finalproject.com.example.demo.dto.category.CategoryTreeResponse;
+import finalproject.com.example.demo.dto.page.CollectionStamp;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,8 +14,14 @@ public interface CategoryService {
 
     List<CategoryResponse> findAll();
 
+    CursorPage<CategoryResponse> findPage(KeysetRequest request);
+
+    CollectionStamp stamp();
+
     Optional<CategoryResponse> findById(Long id);
 
+    Optional<CategoryTreeResponse> findTree(Long id);
+
     CategoryResponse create(CategoryRequest request);
 
     Optional<CategoryResponse> update(Long id, CategoryRequest request);
@@ -1,13 +1,27 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.cache.CategoryCatalog;
 import finalproject.com.example.demo.dto.category.CategoryRequest;
 import finalproject.com.example.demo.dto.category.CategoryResponse;
+import finalproject.com.example.demo.dto.category.CategoryTreeResponse;
+import finalproject.com.example.demo.dto.category.CategoryTreeRow;
+import finalproject.com.example.demo.dto.page.CollectionStamp;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.entity.Category;
+import finalproject.com.example.demo.entity.CategoryClosureId;
 import finalproject.com.example.demo.mapper.CategoryMapper;
+import finalproject.com.example.demo.repository.CategoryClosureRepository;
 import finalproject.com.example.demo.repository.CategoryRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -15,31 +29,81 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final CategoryCatalog categoryCatalog;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper, CategoryClosureRepository categoryClosureRepository, CategoryCatalog categoryCatalog) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.categoryClosureRepository = categoryClosureRepository;
+        this.categoryCatalog = categoryCatalog;
     }
 
     @Override
     public List<CategoryResponse> findAll() {
-        return categoryMapper.toResponse(categoryRepository.findAll());
+        return categoryCatalog.snapshot().all();
+    }
+
+    @Override
+    public CursorPage<CategoryResponse> findPage(KeysetRequest request) {
+        return categoryCatalog.snapshot().page(request);
+    }
+
+    @Override
+    public CollectionStamp stamp() {
+        return categoryCatalog.snapshot().getStamp();
     }
 
     @Override
     public Optional<CategoryResponse> findById(Long id) {
-        return categoryRepository.findById(id).map(categoryMapper::toResponse);
+        return categoryCatalog.snapshot().find(id);
+    }
+
+    /**
+     * Builds the subtree from a single closure-table join; rows arrive parents first.
+     */
+    @Override
+    public Optional<CategoryTreeResponse> findTree(Long id) {
+        List<CategoryTreeRow> rows = categoryClosureRepository.findSubtree(id);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<Long, CategoryTreeResponse> nodes = new HashMap<>();
+        for (CategoryTreeRow row : rows) {
+            CategoryTreeResponse node = new CategoryTreeResponse();
+            node.setId(row.getId());
+            node.setName(row.getName());
+            node.setDescription(row.getDescription());
+            node.setDepth(row.getDepth());
+            nodes.put(row.getId(), node);
+
+            CategoryTreeResponse parent = row.getDepth() > 0 ? nodes.get(row.getParentId()) : null;
+            if (parent != null) {
+                parent.getChildren().add(node);
+            }
+        }
+        return Optional.of(nodes.get(id));
     }
 
     @Override
+    @Transactional
     public CategoryResponse create(CategoryRequest request) {
         Category category = categoryMapper.toEntity(request);
         category.setId(null);
-        Category saved = categoryRepository.save(category);
+        category.setParent(findParent(request.getParentId()));
+        Category saved = categoryRepository.saveAndFlush(category);
+
+        categoryClosureRepository.insertSelf(saved.getId());
+        if (saved.getParent() != null) {
+            categoryClosureRepository.attachSubtree(saved.getId(), saved.getParent().getId());
+        }
+        categoryCatalog.reloadAfterCommit();
         return categoryMapper.toResponse(saved);
     }
 
     @Override
+    @Transactional
     public Optional<CategoryResponse> update(Long id, CategoryRequest request) {
         Optional<Category> existingOpt = categoryRepository.findById(id);
         if (existingOpt.isEmpty()) {
@@ -47,15 +111,46 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         Category existing = existingOpt.get();
+        Long previousParentId = existing.getParent() != null ? existing.getParent().getId() : null;
+        if (!Objects.equals(previousParentId, request.getParentId())) {
+            move(existing, request.getParentId());
+        }
         existing.setName(request.getName());
         existing.setDescription(request.getDescription());
 
-        Category updated = categoryRepository.save(existing);
+        Category updated = categoryRepository.saveAndFlush(existing);
+        categoryCatalog.reloadAfterCommit();
         return Optional.of(categoryMapper.toResponse(updated));
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
+        if (categoryRepository.existsByParentId(id)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Category has subcategories");
+        }
         categoryRepository.deleteById(id);
+        categoryCatalog.reloadAfterCommit();
+    }
+
+    private void move(Category category, Long newParentId) {
+        Category newParent = findParent(newParentId);
+        if (newParent != null && categoryClosureRepository.existsById(new CategoryClosureId(category.getId(), newParent.getId()))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A category cannot be moved below itself");
+        }
+
+        categoryClosureRepository.detachSubtree(category.getId());
+        if (newParent != null) {
+            categoryClosureRepository.attachSubtree(category.getId(), newParent.getId());
+        }
+        category.setParent(newParent);
+    }
+
+    private Category findParent(Long parentId) {
+        if (parentId == null) {
+            return null;
+        }
+        return categoryRepository.findById(parentId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parent category not found"));
     }
 }
\ No newline at end of file
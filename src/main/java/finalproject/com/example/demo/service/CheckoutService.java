@@ -0,0 +1,9 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.checkout.CheckoutRequest;
+import finalproject.com.example.demo.dto.checkout.CheckoutResponse;
+
+public interface CheckoutService {
+
+    CheckoutResponse checkout(CheckoutRequest request);
+}
@@ -0,0 +1,133 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.checkout.CheckoutItemRequest;
+import finalproject.com.example.demo.dto.checkout.CheckoutRequest;
+import finalproject.com.example.demo.dto.checkout.CheckoutResponse;
+import finalproject.com.example.demo.entity.Order;
+import finalproject.com.example.demo.entity.OrderItem;
+import finalproject.com.example.demo.entity.OrderStatus;
+import finalproject.com.example.demo.entity.Product;
+import finalproject.com.example.demo.entity.User;
+import finalproject.com.example.demo.event.OrderOutbox;
+import finalproject.com.example.demo.mapper.OrderItemMapper;
+import finalproject.com.example.demo.repository.OrderItemRepository;
+import finalproject.com.example.demo.repository.OrderRepository;
+import finalproject.com.example.demo.repository.ProductRepository;
+import finalproject.com.example.demo.search.ProductSuggestIndex;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a whole cart into an order in one transaction: all products are resolved with a
+ * single {@code IN} query, prices come from the catalog rather than the client, and the
+ * items are written together instead of one request per line. Stock is reserved in the
+ * same transaction, so a cart that cannot be fulfilled leaves no order behind.
+ */
+@Service
+public class CheckoutServiceImpl implements CheckoutService {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+    private final UserService userService;
+    private final OrderItemMapper orderItemMapper;
+    private final OrderOutbox orderOutbox;
+    private final SalesRollupService salesRollupService;
+    private final StockService stockService;
+    private final ProductSuggestIndex productSuggestIndex;
+
+    public CheckoutServiceImpl(OrderRepository orderRepository, OrderItemRepository orderItemRepository, ProductRepository productRepository, UserService userService, OrderItemMapper orderItemMapper, OrderOutbox orderOutbox, SalesRollupService salesRollupService, StockService stockService, ProductSuggestIndex productSuggestIndex) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.productRepository = productRepository;
+        this.userService = userService;
+        this.orderItemMapper = orderItemMapper;
+        this.orderOutbox = orderOutbox;
+        this.salesRollupService = salesRollupService;
+        this.stockService = stockService;
+        this.productSuggestIndex = productSuggestIndex;
+    }
+
+    @Override
+    @Transactional
+    public CheckoutResponse checkout(CheckoutRequest request) {
+        User user = userService.getCurrentUser();
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated");
+        }
+
+        Map<Long, Integer> quantities = mergeLines(request.getItems());
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        if (products.size() != quantities.size()) {
+            List<Long> missing = quantities.keySet().stream().filter(id -> !products.containsKey(id)).toList();
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Products not found: " + missing);
+        }
+
+        Order order = new Order();
+        order.setUser(user);
+        order.setStatus(OrderStatus.PENDING.name());
+        order.setCreatedAt(LocalDateTime.now());
+
+        List<OrderItem> items = new ArrayList<>(quantities.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(line.getValue());
+            item.setPriceAtPurchase(product.getPrice());
+            item.setCategoryId(product.getCategory().getId());
+            items.add(item);
+            total = total.add(product.getPrice().multiply(BigDecimal.valueOf(line.getValue())));
+        }
+        order.setTotalPrice(total);
+        order.setItems(items);
+
+        Order saved = orderRepository.save(order);
+        List<OrderItem> savedItems = orderItemRepository.saveAll(items);
+        orderOutbox.orderCreated(saved);
+        salesRollupService.recordCreated(saved, savedItems);
+        // last, so the stock rows of popular products stay locked for as short a time as possible
+        stockService.reserve(saved.getId(), quantities);
+        productSuggestIndex.recordSales(quantities);
+
+        return new CheckoutResponse(
+                saved.getId(),
+                user.getId(),
+                saved.getStatus(),
+                saved.getTotalPrice(),
+                saved.getCreatedAt(),
+                orderItemMapper.toResponse(savedItems)
+        );
+    }
+
+    /**
+     * Folds repeated lines for the same product into one, keeping the cart order.
+     */
+    private static Map<Long, Integer> mergeLines(List<CheckoutItemRequest> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cart is empty");
+        }
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CheckoutItemRequest line : lines) {
+            if (line.getProductId() == null || line.getQuantity() == null || line.getQuantity() < 1) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Each item needs a productId and a positive quantity");
+            }
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,64 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
+import finalproject.com.example.demo.entity.BaseEntity;
+import finalproject.com.example.demo.repository.KeysetRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+final class KeysetPaging {
+
+    private KeysetPaging() {
+    }
+
+    static <E extends BaseEntity, R> CursorPage<R> fetch(
+            KeysetRepository<E> repository,
+            KeysetRequest request,
+            Function<List<E>, List<R>> mapper
+    ) {
+        if (!"id".equals(request.getSortProperty())) {
+            throw request.unsupportedSort();
+        }
+
+        Sort.Direction direction = request.isDescending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(0, request.getLimit() + 1, Sort.by(direction, "id"));
+        Long afterId = request.getAfterId();
+
+        List<E> rows = request.isDescending()
+                ? repository.findByIdLessThan(afterId != null ? afterId : Long.MAX_VALUE, pageable)
+                : repository.findByIdGreaterThan(afterId != null ? afterId : 0L, pageable);
+
+        return CursorPage.of(rows, request.getLimit(), mapper, last -> KeysetRequest.encodeCursor(last.getId()));
+    }
+
+    /**
+     * Variant for queries that select straight into the response DTO, so no entity is
+     * hydrated or tracked by the persistence context. The queries carry their own
+     * {@code order by}; only the page size is taken from the pageable.
+     */
+    static <R> CursorPage<R> fetchProjected(
+            KeysetRequest request,
+            BiFunction<Long, Pageable, List<R>> afterQuery,
+            BiFunction<Long, Pageable, List<R>> beforeQuery,
+            Function<R, Long> idOf
+    ) {
+        if (!"id".equals(request.getSortProperty())) {
+            throw request.unsupportedSort();
+        }
+
+        Pageable pageable = PageRequest.of(0, request.getLimit() + 1);
+        Long afterId = request.getAfterId();
+
+        List<R> rows = request.isDescending()
+                ? beforeQuery.apply(afterId != null ? afterId : Long.MAX_VALUE, pageable)
+                : afterQuery.apply(afterId != null ? afterId : 0L, pageable);
+
+        return CursorPage.of(rows, request.getLimit(), Function.identity(), last -> KeysetRequest.encodeCursor(idOf.apply(last)));
+    }
+}
@@ -2,6 +2,8 @@ package finalproject.com.example.demo.service;
 
 import finalproject.com.example.demo.dto.orderitem.OrderItemRequest;
 import finalproject.com.example.demo.dto.orderitem.OrderItemResponse;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,6 +12,8 @@ public interface OrderItemService {
 
     List<OrderItemResponse> findAll();
 
+    CursorPage<OrderItemResponse> findPage(KeysetRequest request);
+
     Optional<OrderItemResponse> findById(Long id);
 
     OrderItemResponse create(OrderItemRequest request);
@@ -2,15 +2,20 @@ package finalproject.com.example.demo.service;
 
 import finalproject.com.example.demo.dto.orderitem.OrderItemRequest;
 import finalproject.com.example.demo.dto.orderitem.OrderItemResponse;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.entity.Order;
 import finalproject.com.example.demo.entity.OrderItem;
 import finalproject.com.example.demo.entity.Product;
 import finalproject.com.example.demo.mapper.OrderItemMapper;
 import finalproject.com.example.demo.repository.OrderItemRepository;
 import finalproject.com.example.demo.repository.OrderRepository;
+import finalproject.com.example.demo.repository.OrderSales;
 import finalproject.com.example.demo.repository.ProductRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,12 +26,14 @@ public class OrderItemServiceImpl implements OrderItemService {
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final OrderItemMapper orderItemMapper;
+    private final SalesRollupService salesRollupService;
 
-    public OrderItemServiceImpl(OrderItemRepository orderItemRepository, OrderRepository orderRepository, ProductRepository productRepository, OrderItemMapper orderItemMapper) {
+    public OrderItemServiceImpl(OrderItemRepository orderItemRepository, OrderRepository orderRepository, ProductRepository productRepository, OrderItemMapper orderItemMapper, SalesRollupService salesRollupService) {
         this.orderItemRepository = orderItemRepository;
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
         this.orderItemMapper = orderItemMapper;
+        this.salesRollupService = salesRollupService;
     }
 
     @Override
@@ -34,14 +41,25 @@ public class OrderItemServiceImpl implements OrderItemService {
         return orderItemMapper.toResponse(orderItemRepository.findAll());
     }
 
+    @Override
+    public CursorPage<OrderItemResponse> findPage(KeysetRequest request) {
+        return KeysetPaging.fetchProjected(
+                request,
+                orderItemRepository::findResponsesByIdGreaterThan,
+                orderItemRepository::findResponsesByIdLessThan,
+                OrderItemResponse::getId
+        );
+    }
+
     @Override
     public Optional<OrderItemResponse> findById(Long id) {
         return orderItemRepository.findById(id).map(orderItemMapper::toResponse);
     }
 
     @Override
+    @Transactional
     public OrderItemResponse create(OrderItemRequest request) {
-        Order order = orderRepository.findById(request.getOrderId())
+        Order order = orderRepository.findInPartitionById(request.getOrderId())
                 .orElseThrow(() -> new IllegalArgumentException("Order not found"));
         Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new IllegalArgumentException("Product not found"));
@@ -50,35 +68,57 @@ public class OrderItemServiceImpl implements OrderItemService {
         orderItem.setId(null);
         orderItem.setOrder(order);
         orderItem.setProduct(product);
+        orderItem.setCategoryId(product.getCategory().getId());
 
+        OrderSales before = salesRollupService.capture(order.getId());
         OrderItem saved = orderItemRepository.save(orderItem);
+        salesRollupService.recordChange(before);
         return orderItemMapper.toResponse(saved);
     }
 
+    /**
+     * An item moved to another order changes both orders' sales; they are captured in id
+     * order so two such moves cannot lock the same pair of orders the other way round.
+     */
     @Override
+    @Transactional
     public Optional<OrderItemResponse> update(Long id, OrderItemRequest request) {
         Optional<OrderItem> existingOpt = orderItemRepository.findById(id);
         if (existingOpt.isEmpty()) {
             return Optional.empty();
         }
 
-        Order order = orderRepository.findById(request.getOrderId())
+        Order order = orderRepository.findInPartitionById(request.getOrderId())
                 .orElseThrow(() -> new IllegalArgumentException("Order not found"));
         Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new IllegalArgumentException("Product not found"));
 
         OrderItem existing = existingOpt.get();
+        Long previousOrderId = existing.getOrder().getId();
+        List<OrderSales> before = new ArrayList<>(2);
+        before.add(salesRollupService.capture(Math.min(previousOrderId, order.getId())));
+        if (!previousOrderId.equals(order.getId())) {
+            before.add(salesRollupService.capture(Math.max(previousOrderId, order.getId())));
+        }
+        if (!product.getId().equals(existing.getProduct().getId())) {
+            existing.setCategoryId(product.getCategory().getId());
+        }
         existing.setOrder(order);
         existing.setProduct(product);
         existing.setQuantity(request.getQuantity());
         existing.setPriceAtPurchase(request.getPriceAtPurchase());
 
         OrderItem updated = orderItemRepository.save(existing);
+        before.forEach(salesRollupService::recordChange);
         return Optional.of(orderItemMapper.toResponse(updated));
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
+        Optional<OrderSales> before = orderItemRepository.findById(id)
+                .map(item -> salesRollupService.capture(item.getOrder().getId()));
         orderItemRepository.deleteById(id);
+        before.ifPresent(salesRollupService::recordChange);
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package finalproject.com.example.demo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of t_orders / t_order_items ahead of the calendar, so new
+ * orders never land in the default partition, and detaches months older than the retention
+ * window. Detached tables are left in place for archiving; nothing is dropped here.
+ */
+@Component
+public class OrderPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderPartitionMaintenance.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public OrderPartitionMaintenance(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.orders.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${app.orders.partitions.retention-months:0}") int retentionMonths
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.orders.partitions.cron:0 0 3 * * *}")
+    public void maintain() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT create_order_partitions(?, ?)", Integer.class, currentMonth, monthsAhead + 1);
+        if (created != null && created > 0) {
+            log.info("Created {} order partitions up to {}", created, currentMonth.plusMonths(monthsAhead));
+        }
+
+        // 0 keeps every month attached
+        if (retentionMonths > 0) {
+            LocalDate cutoff = currentMonth.minusMonths(retentionMonths);
+            List<String> detached = jdbcTemplate.queryForList(
+                    "SELECT detach_order_partitions(?)", String.class, cutoff);
+            if (!detached.isEmpty()) {
+                log.info("Detached order partitions before {}: {}", cutoff, detached);
+            }
+        }
+    }
+}
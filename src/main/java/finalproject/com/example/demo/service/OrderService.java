@@ -1,7 +1,13 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.dto.order.OrderDetailResponse;
+import finalproject.com.example.demo.dto.order.OrderFilter;
 import finalproject.com.example.demo.dto.order.OrderRequest;
 import finalproject.com.example.demo.dto.order.OrderResponse;
+import finalproject.com.example.demo.dto.order.OrderStatusRequest;
+import finalproject.com.example.demo.dto.order.OrderStatusResponse;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,11 +16,19 @@ public interface OrderService {
 
     List<OrderResponse> findAll();
 
+    CursorPage<OrderResponse> findPage(OrderFilter filter, KeysetRequest request);
+
+    CursorPage<OrderResponse> findHistoryPage(OrderFilter filter, KeysetRequest request);
+
     Optional<OrderResponse> findById(Long id);
 
+    Optional<OrderDetailResponse> findDetailById(Long id);
+
     OrderResponse create(OrderRequest request);
 
     Optional<OrderResponse> update(Long id, OrderRequest request);
 
+    Optional<OrderStatusResponse> changeStatus(Long id, OrderStatusRequest request);
+
     void deleteById(Long id);
 }
\ No newline at end of file
@@ -1,17 +1,38 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.dto.order.OrderDetailResponse;
+import finalproject.com.example.demo.dto.order.OrderFilter;
 import finalproject.com.example.demo.dto.order.OrderRequest;
 import finalproject.com.example.demo.dto.order.OrderResponse;
+import finalproject.com.example.demo.dto.order.OrderStatusRequest;
+import finalproject.com.example.demo.dto.order.OrderStatusResponse;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.entity.Order;
+import finalproject.com.example.demo.entity.OrderStatus;
 import finalproject.com.example.demo.entity.User;
+import finalproject.com.example.demo.event.OrderOutbox;
 import finalproject.com.example.demo.mapper.OrderMapper;
 import finalproject.com.example.demo.repository.OrderRepository;
+import finalproject.com.example.demo.repository.OrderSales;
+import finalproject.com.example.demo.repository.OrderSort;
+import finalproject.com.example.demo.repository.OrderSpecifications;
 import finalproject.com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 public class OrderServiceImpl implements OrderService {
@@ -19,11 +40,27 @@ public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final OrderMapper orderMapper;
+    private final OrderOutbox orderOutbox;
+    private final SalesRollupService salesRollupService;
+    private final StockService stockService;
+    private final int historyWindowMonths;
 
-    public OrderServiceImpl(OrderRepository orderRepository, UserRepository userRepository, OrderMapper orderMapper) {
+    public OrderServiceImpl(
+            OrderRepository orderRepository,
+            UserRepository userRepository,
+            OrderMapper orderMapper,
+            OrderOutbox orderOutbox,
+            SalesRollupService salesRollupService,
+            StockService stockService,
+            @Value("${app.orders.history.window-months:3}") int historyWindowMonths
+    ) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.orderMapper = orderMapper;
+        this.orderOutbox = orderOutbox;
+        this.salesRollupService = salesRollupService;
+        this.stockService = stockService;
+        this.historyWindowMonths = historyWindowMonths;
     }
 
     @Override
@@ -31,30 +68,82 @@ public class OrderServiceImpl implements OrderService {
         return orderMapper.toResponse(orderRepository.findAll());
     }
 
+    @Override
+    public CursorPage<OrderResponse> findPage(OrderFilter filter, KeysetRequest request) {
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+
+        OrderSort sort = OrderSort.from(request);
+        Specification<Order> specification = OrderSpecifications.matching(filter)
+                .and(OrderSpecifications.after(sort, request));
+
+        List<OrderResponse> rows = orderRepository.findResponses(specification, sort.toSort(), request.getLimit() + 1);
+        return CursorPage.of(rows, request.getLimit(), Function.identity(), sort::cursorOf);
+    }
+
+    /**
+     * Newest first with no from/to reads only the {@code historyWindowMonths} months before the
+     * cursor (or now), a few partitions of t_orders. The older months are read only when that
+     * window holds less than a page, and then just for the rows still missing.
+     */
+    @Override
+    public CursorPage<OrderResponse> findHistoryPage(OrderFilter filter, KeysetRequest request) {
+        OrderSort sort = OrderSort.from(request);
+        if (!sort.isDescending() || filter.getFrom() != null || filter.getTo() != null) {
+            return findPage(filter, request);
+        }
+
+        LocalDateTime windowEnd = request.hasCursor() ? OrderSort.cursorCreatedAt(request) : LocalDateTime.now();
+        LocalDateTime windowStart = windowEnd.minusMonths(historyWindowMonths);
+        Specification<Order> specification = OrderSpecifications.matching(filter)
+                .and(OrderSpecifications.after(sort, request));
+        int rows = request.getLimit() + 1;
+
+        List<OrderResponse> page = new ArrayList<>(orderRepository.findResponses(
+                specification.and(OrderSpecifications.createdBetween(windowStart, null)), sort.toSort(), rows));
+        if (page.size() < rows) {
+            page.addAll(orderRepository.findResponses(
+                    specification.and(OrderSpecifications.createdBetween(null, windowStart)), sort.toSort(), rows - page.size()));
+        }
+        return CursorPage.of(page, request.getLimit(), Function.identity(), sort::cursorOf);
+    }
+
     @Override
     public Optional<OrderResponse> findById(Long id) {
-        return orderRepository.findById(id).map(orderMapper::toResponse);
+        return orderRepository.findInPartitionById(id).map(orderMapper::toResponse);
+    }
+
+    @Override
+    public Optional<OrderDetailResponse> findDetailById(Long id) {
+        return orderRepository.findDetailById(id).map(orderMapper::toDetailResponse);
     }
 
     @Override
+    @Transactional
     public OrderResponse create(OrderRequest request) {
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
+        OrderStatus status = request.getStatus() == null ? OrderStatus.PENDING : parseStatus(request.getStatus());
         Order order = orderMapper.toEntity(request);
         order.setId(null);
         order.setUser(user);
+        order.setStatus(status.name());
         if (order.getCreatedAt() == null) {
             order.setCreatedAt(LocalDateTime.now());
         }
 
         Order saved = orderRepository.save(order);
+        orderOutbox.orderCreated(saved);
+        salesRollupService.recordCreated(saved, List.of());
         return orderMapper.toResponse(saved);
     }
 
     @Override
+    @Transactional
     public Optional<OrderResponse> update(Long id, OrderRequest request) {
-        Optional<Order> existingOpt = orderRepository.findById(id);
+        Optional<Order> existingOpt = orderRepository.findInPartitionById(id);
         if (existingOpt.isEmpty()) {
             return Optional.empty();
         }
@@ -63,17 +152,87 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         Order existing = existingOpt.get();
+        if (request.getVersion() != null && !Objects.equals(request.getVersion(), existing.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order was modified concurrently");
+        }
+        String previousStatus = existing.getStatus();
+        OrderStatus target = parseStatus(request.getStatus());
+        if (!target.name().equals(previousStatus) && !parseStatus(previousStatus).canMoveTo(target)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Cannot move order from " + previousStatus + " to " + target);
+        }
+        OrderSales before = salesRollupService.capture(id);
         existing.setUser(user);
-        existing.setStatus(request.getStatus());
+        existing.setStatus(target.name());
         existing.setTotalPrice(request.getTotalPrice());
-        existing.setCreatedAt(request.getCreatedAt() != null ? request.getCreatedAt() : existing.getCreatedAt());
 
-        Order updated = orderRepository.save(existing);
-        return Optional.of(orderMapper.toResponse(updated));
+        try {
+            Order updated = orderRepository.saveAndFlush(existing);
+            if (!Objects.equals(previousStatus, updated.getStatus())) {
+                orderOutbox.statusChanged(updated.getId(), updated.getStatus(), updated.getVersion());
+                if (OrderStatus.CANCELLED.name().equals(updated.getStatus())) {
+                    stockService.release(updated.getId());
+                }
+            }
+            salesRollupService.recordChange(before);
+            return Optional.of(orderMapper.toResponse(updated));
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order was modified concurrently");
+        }
+    }
+
+    /**
+     * One conditional UPDATE on the happy path; the order is only read back to explain a
+     * refusal (missing, stale version, or a move the lifecycle does not allow). The sales
+     * snapshot taken first also locks the order, so the rollup moves exactly what was updated.
+     */
+    @Override
+    @Transactional
+    public Optional<OrderStatusResponse> changeStatus(Long id, OrderStatusRequest request) {
+        OrderStatus target = parseStatus(request.getStatus());
+        if (request.getVersion() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "version is required");
+        }
+
+        List<String> sources = target.previous().stream().map(OrderStatus::name).toList();
+        if (!sources.isEmpty()) {
+            OrderSales before = salesRollupService.capture(id);
+            if (orderRepository.transitionStatus(id, request.getVersion(), sources, target.name()) == 1) {
+                orderOutbox.statusChanged(id, target.name(), request.getVersion() + 1);
+                salesRollupService.recordStatusChange(before, target.name());
+                if (target == OrderStatus.CANCELLED) {
+                    stockService.release(id);
+                }
+                return Optional.of(new OrderStatusResponse(id, target.name(), request.getVersion() + 1));
+            }
+        }
+
+        Optional<Order> current = orderRepository.findInPartitionById(id);
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        Order order = current.get();
+        if (!Objects.equals(order.getVersion(), request.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order was modified concurrently");
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "Cannot move order from " + order.getStatus() + " to " + target);
+    }
+
+    private static OrderStatus parseStatus(String status) {
+        try {
+            return OrderStatus.valueOf(status == null ? "" : status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown status: " + status);
+        }
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
-        orderRepository.deleteById(id);
+        OrderSales before = salesRollupService.capture(id);
+        orderRepository.findInPartitionById(id).ifPresent(orderRepository::delete);
+        salesRollupService.recordChange(before);
+        stockService.release(id);
     }
 }
\ No newline at end of file
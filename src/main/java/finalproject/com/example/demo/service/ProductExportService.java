@@ -0,0 +1,11 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.product.ProductFileFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+
+    long exportProducts(OutputStream output, ProductFileFormat format) throws IOException;
+}
@@ -0,0 +1,118 @@
+package finalproject.com.example.demo.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import finalproject.com.example.demo.dto.product.ProductFileFormat;
+import finalproject.com.example.demo.dto.product.ProductResponse;
+import finalproject.com.example.demo.entity.Product;
+import finalproject.com.example.demo.mapper.ProductMapper;
+import finalproject.com.example.demo.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the catalog row by row straight from a database cursor. The persistence
+ * context is cleared every {@link #FLUSH_EVERY} rows, so memory stays flat no matter
+ * how large the catalog is.
+ */
+@Service
+public class ProductExportServiceImpl implements ProductExportService {
+
+    static final int FLUSH_EVERY = 1000;
+
+    static final String CSV_HEADER = "id,name,description,price,categoryId,sellerId,status";
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+
+    public ProductExportServiceImpl(ProductRepository productRepository, ProductMapper productMapper, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.entityManager = entityManager;
+        this.jsonWriter = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream output, ProductFileFormat format) throws IOException {
+        try (Stream<Product> products = productRepository.streamAll()) {
+            return format == ProductFileFormat.CSV
+                    ? writeCsv(products.iterator(), output)
+                    : writeNdjson(products.iterator(), output);
+        }
+    }
+
+    private long writeNdjson(Iterator<Product> products, OutputStream output) throws IOException {
+        JsonGenerator generator = jsonWriter.createGenerator(output)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long count = 0;
+        while (products.hasNext()) {
+            jsonWriter.writeValue(generator, productMapper.toResponse(products.next()));
+            generator.writeRaw('\n');
+            if (++count % FLUSH_EVERY == 0) {
+                generator.flush();
+                entityManager.clear();
+            }
+        }
+        generator.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<Product> products, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = 0;
+        while (products.hasNext()) {
+            writeCsvRow(writer, productMapper.toResponse(products.next()));
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvRow(Writer writer, ProductResponse product) throws IOException {
+        writer.write(String.valueOf(product.getId()));
+        writer.write(',');
+        writer.write(csvField(product.getName()));
+        writer.write(',');
+        writer.write(csvField(product.getDescription()));
+        writer.write(',');
+        writer.write(product.getPrice() == null ? "" : product.getPrice().toPlainString());
+        writer.write(',');
+        writer.write(product.getCategoryId() == null ? "" : product.getCategoryId().toString());
+        writer.write(',');
+        writer.write(product.getSellerId() == null ? "" : product.getSellerId().toString());
+        writer.write(',');
+        writer.write(csvField(product.getStatus()));
+        writer.write('\n');
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,12 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.product.ProductFileFormat;
+import finalproject.com.example.demo.dto.product.ProductImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    ProductImportReport importProducts(InputStream input, ProductFileFormat format) throws IOException;
+}
@@ -0,0 +1,263 @@
+package finalproject.com.example.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import finalproject.com.example.demo.dto.product.ProductFileFormat;
+import finalproject.com.example.demo.dto.product.ProductImportError;
+import finalproject.com.example.demo.dto.product.ProductImportReport;
+import finalproject.com.example.demo.dto.product.ProductRequest;
+import finalproject.com.example.demo.entity.BaseEntity;
+import finalproject.com.example.demo.entity.Product;
+import finalproject.com.example.demo.mapper.ProductMapper;
+import finalproject.com.example.demo.repository.CategoryRepository;
+import finalproject.com.example.demo.repository.ProductRepository;
+import finalproject.com.example.demo.repository.UserRepository;
+import finalproject.com.example.demo.search.ProductSearchIndex;
+import finalproject.com.example.demo.search.ProductSuggestIndex;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams the upload line by line and writes valid rows in JDBC batches, so memory
+ * is bounded by the batch size and the id sets rather than by the file size.
+ */
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO t_products (id, name, description, price, category_id, seller_id, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval('t_products_seq') FROM generate_series(1, ?)";
+    private static final List<String> CSV_COLUMNS =
+            List.of("name", "description", "price", "categoryId", "sellerId", "status");
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final ProductMapper productMapper;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ProductImportServiceImpl(ProductRepository productRepository, CategoryRepository categoryRepository, UserRepository userRepository, ProductMapper productMapper, ProductSearchIndex productSearchIndex, ProductSuggestIndex productSuggestIndex, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.productMapper = productMapper;
+        this.productSearchIndex = productSearchIndex;
+        this.productSuggestIndex = productSuggestIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ProductImportReport importProducts(InputStream input, ProductFileFormat format) throws IOException {
+        long started = System.nanoTime();
+        Set<Long> categoryIds = categoryRepository.findAllIds();
+        Set<Long> sellerIds = userRepository.findAllIds();
+        Long lastIdBefore = productRepository.findMaxId();
+
+        List<ProductImportError> errors = new ArrayList<>();
+        List<ProductRequest> batch = new ArrayList<>(BATCH_SIZE);
+        long received = 0;
+        long imported = 0;
+        long failed = 0;
+        long lineNumber = 0;
+        Map<String, Integer> csvHeader = null;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == ProductFileFormat.CSV && csvHeader == null) {
+                    csvHeader = parseCsvHeader(line);
+                    continue;
+                }
+
+                received++;
+                try {
+                    ProductRequest request = format == ProductFileFormat.CSV ? fromCsv(line, csvHeader) : fromJson(line);
+                    validate(request, categoryIds, sellerIds);
+                    batch.add(request);
+                } catch (IllegalArgumentException ex) {
+                    failed++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new ProductImportError(lineNumber, ex.getMessage()));
+                    }
+                }
+
+                if (batch.size() == BATCH_SIZE) {
+                    imported += insertBatch(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += insertBatch(batch);
+        }
+
+        if (imported > 0) {
+            productSearchIndex.indexAfter(lastIdBefore);
+            productSuggestIndex.indexAfter(lastIdBefore);
+        }
+
+        long durationMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        double rowsPerSecond = imported * 1000.0 / durationMs;
+        return new ProductImportReport(received, imported, failed, errors, durationMs, rowsPerSecond);
+    }
+
+    private int insertBatch(List<ProductRequest> batch) {
+        List<Product> products = productMapper.toEntity(batch);
+        transactionTemplate.executeWithoutResult(status -> {
+            assignIds(products);
+            jdbcTemplate.batchUpdate(INSERT_SQL, products, products.size(), (ps, product) -> {
+                ps.setLong(1, product.getId());
+                ps.setString(2, product.getName());
+                ps.setString(3, product.getDescription());
+                ps.setBigDecimal(4, product.getPrice());
+                ps.setLong(5, product.getCategory().getId());
+                ps.setLong(6, product.getSeller().getId());
+                ps.setString(7, product.getStatus());
+            });
+        });
+        return products.size();
+    }
+
+    /**
+     * Reserves ids the same way Hibernate does: each {@code nextval} owns the next
+     * {@link BaseEntity#ID_ALLOCATION_SIZE} values, so a batch costs one query for all its ids.
+     */
+    private void assignIds(List<Product> products) {
+        int blocks = (products.size() + BaseEntity.ID_ALLOCATION_SIZE - 1) / BaseEntity.ID_ALLOCATION_SIZE;
+        List<Long> blockStarts = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, blocks);
+        for (int i = 0; i < products.size(); i++) {
+            long blockStart = blockStarts.get(i / BaseEntity.ID_ALLOCATION_SIZE);
+            products.get(i).setId(blockStart + i % BaseEntity.ID_ALLOCATION_SIZE);
+        }
+    }
+
+    private void validate(ProductRequest request, Set<Long> categoryIds, Set<Long> sellerIds) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("Name is required");
+        }
+        if (request.getPrice() == null || request.getPrice().signum() < 0) {
+            throw new IllegalArgumentException("Price must be zero or positive");
+        }
+        if (request.getStatus() == null || request.getStatus().isBlank()) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        if (request.getCategoryId() == null || !categoryIds.contains(request.getCategoryId())) {
+            throw new IllegalArgumentException("Category not found");
+        }
+        if (request.getSellerId() == null || !sellerIds.contains(request.getSellerId())) {
+            throw new IllegalArgumentException("Seller not found");
+        }
+    }
+
+    private ProductRequest fromJson(String line) {
+        try {
+            return objectMapper.readValue(line, ProductRequest.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private ProductRequest fromCsv(String line, Map<String, Integer> header) {
+        List<String> values = parseCsvLine(line);
+        ProductRequest request = new ProductRequest();
+        request.setName(column(values, header, "name"));
+        request.setDescription(column(values, header, "description"));
+        request.setStatus(column(values, header, "status"));
+        try {
+            String price = column(values, header, "price");
+            String categoryId = column(values, header, "categoryId");
+            String sellerId = column(values, header, "sellerId");
+            request.setPrice(price == null ? null : new BigDecimal(price));
+            request.setCategoryId(categoryId == null ? null : Long.valueOf(categoryId));
+            request.setSellerId(sellerId == null ? null : Long.valueOf(sellerId));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Malformed number: " + ex.getMessage());
+        }
+        return request;
+    }
+
+    private Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = parseCsvLine(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim(), i);
+        }
+        if (!header.keySet().containsAll(CSV_COLUMNS)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header must contain " + CSV_COLUMNS);
+        }
+        return header;
+    }
+
+    private static String column(List<String> values, Map<String, Integer> header, String name) {
+        int index = header.get(name);
+        if (index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits one RFC 4180 record; quoted fields may contain commas and doubled quotes
+     * but not line breaks.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,17 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.review.ProductRatingResponse;
+import finalproject.com.example.demo.dto.review.RatingRebuildReport;
+
+import java.util.Optional;
+
+public interface ProductRatingService {
+
+    Optional<ProductRatingResponse> findByProductId(Long productId);
+
+    void recordReview(Long productId, int rating);
+
+    void removeReview(Long productId, int rating);
+
+    RatingRebuildReport rebuild();
+}
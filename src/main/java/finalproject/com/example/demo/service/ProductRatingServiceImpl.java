@@ -0,0 +1,144 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.review.ProductRatingResponse;
+import finalproject.com.example.demo.dto.review.RatingRebuildReport;
+import finalproject.com.example.demo.entity.ProductRatingSummary;
+import finalproject.com.example.demo.repository.ProductRatingSummaryRepository;
+import finalproject.com.example.demo.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Service
+public class ProductRatingServiceImpl implements ProductRatingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductRatingServiceImpl.class);
+
+    static final int REBUILD_CHUNK_SIZE = 5000;
+
+    private final ProductRatingSummaryRepository summaryRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildParallelism;
+
+    public ProductRatingServiceImpl(
+            ProductRatingSummaryRepository summaryRepository,
+            ProductRepository productRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.ratings.rebuild-parallelism:4}") int rebuildParallelism
+    ) {
+        this.summaryRepository = summaryRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildParallelism = rebuildParallelism;
+    }
+
+    @Override
+    public Optional<ProductRatingResponse> findByProductId(Long productId) {
+        Optional<ProductRatingSummary> summary = summaryRepository.findById(productId);
+        if (summary.isPresent()) {
+            return summary.map(ProductRatingServiceImpl::toResponse);
+        }
+        if (!productRepository.existsById(productId)) {
+            return Optional.empty();
+        }
+        ProductRatingSummary empty = new ProductRatingSummary();
+        empty.setProductId(productId);
+        return Optional.of(toResponse(empty));
+    }
+
+    @Override
+    @Transactional
+    public void recordReview(Long productId, int rating) {
+        summaryRepository.applyDelta(productId, rating, 1);
+    }
+
+    @Override
+    @Transactional
+    public void removeReview(Long productId, int rating) {
+        summaryRepository.applyDelta(productId, rating, -1);
+    }
+
+    /**
+     * Recomputes every summary from t_reviews. Product ids are split into ranges of
+     * {@link #REBUILD_CHUNK_SIZE} that are processed in parallel, each in its own short
+     * transaction, so live review writes are only blocked for one range at a time.
+     */
+    @Override
+    public RatingRebuildReport rebuild() {
+        long started = System.nanoTime();
+        long maxId = productRepository.findMaxId();
+
+        List<Future<long[]>> chunks = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildParallelism);
+        try {
+            for (long fromId = 1; fromId <= maxId; fromId += REBUILD_CHUNK_SIZE) {
+                long from = fromId;
+                long to = Math.min(maxId, fromId + REBUILD_CHUNK_SIZE - 1);
+                chunks.add(executor.submit(() -> rebuildRange(from, to)));
+            }
+
+            long written = 0;
+            long deleted = 0;
+            for (Future<long[]> chunk : chunks) {
+                long[] counts = chunk.get();
+                written += counts[0];
+                deleted += counts[1];
+            }
+
+            long durationMs = (System.nanoTime() - started) / 1_000_000;
+            log.info("Rebuilt rating summaries in {} chunks: {} written, {} deleted, {} ms", chunks.size(), written, deleted, durationMs);
+            return new RatingRebuildReport(chunks.size(), written, deleted, durationMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rating summary rebuild was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rating summary rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long[] rebuildRange(long fromId, long toId) {
+        return transactionTemplate.execute(status -> {
+            summaryRepository.lockProducts(fromId, toId);
+            summaryRepository.lockSummaries(fromId, toId);
+            long written = summaryRepository.recomputeRange(fromId, toId);
+            long deleted = summaryRepository.deleteWithoutReviews(fromId, toId);
+            return new long[]{written, deleted};
+        });
+    }
+
+    private static ProductRatingResponse toResponse(ProductRatingSummary summary) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, summary.getStars1());
+        histogram.put(2, summary.getStars2());
+        histogram.put(3, summary.getStars3());
+        histogram.put(4, summary.getStars4());
+        histogram.put(5, summary.getStars5());
+
+        ProductRatingResponse response = new ProductRatingResponse();
+        response.setProductId(summary.getProductId());
+        response.setReviewCount(summary.getReviewCount());
+        response.setAverage(summary.getReviewCount() > 0
+                ? BigDecimal.valueOf(summary.getRatingSum()).divide(BigDecimal.valueOf(summary.getReviewCount()), 2, RoundingMode.HALF_UP)
+                : null);
+        response.setHistogram(histogram);
+        return response;
+    }
+}
@@ -1,7 +1,11 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
+import finalproject.com.example.demo.dto.product.ProductFilter;
 import finalproject.com.example.demo.dto.product.ProductRequest;
 import finalproject.com.example.demo.dto.product.ProductResponse;
+import finalproject.com.example.demo.dto.product.ProductSuggestion;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,10 +14,14 @@ public interface ProductService {
 
     List<ProductResponse> findAll();
 
-
+    CursorPage<ProductResponse> findPage(ProductFilter filter, KeysetRequest request);
 
     Optional<ProductResponse> findById(Long id);
 
+    List<ProductResponse> search(String query, int limit);
+
+    List<ProductSuggestion> suggest(String prefix, int limit);
+
     ProductResponse create(ProductRequest request);
 
     Optional<ProductResponse> update(Long id, ProductRequest request);
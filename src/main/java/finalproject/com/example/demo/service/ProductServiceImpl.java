@@ -1,32 +1,56 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.cache.ProductCache;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
+import finalproject.com.example.demo.dto.product.ProductFilter;
 import finalproject.com.example.demo.dto.product.ProductRequest;
 import finalproject.com.example.demo.dto.product.ProductResponse;
+import finalproject.com.example.demo.dto.product.ProductSuggestion;
 import finalproject.com.example.demo.entity.Category;
 import finalproject.com.example.demo.entity.Product;
 import finalproject.com.example.demo.entity.User;
 import finalproject.com.example.demo.mapper.ProductMapper;
 import finalproject.com.example.demo.repository.CategoryRepository;
 import finalproject.com.example.demo.repository.ProductRepository;
+import finalproject.com.example.demo.repository.ProductSort;
+import finalproject.com.example.demo.repository.ProductSpecifications;
 import finalproject.com.example.demo.repository.UserRepository;
+import finalproject.com.example.demo.search.ProductSearchIndex;
+import finalproject.com.example.demo.search.ProductSuggestIndex;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductServiceImpl implements ProductService {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final ProductMapper productMapper;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ProductCache productCache;
 
-    public ProductServiceImpl(ProductRepository productRepository, CategoryRepository categoryRepository, UserRepository userRepository, ProductMapper productMapper) {
+    public ProductServiceImpl(ProductRepository productRepository, CategoryRepository categoryRepository, UserRepository userRepository, ProductMapper productMapper, ProductSearchIndex productSearchIndex, ProductSuggestIndex productSuggestIndex, ProductCache productCache) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
         this.productMapper = productMapper;
+        this.productSearchIndex = productSearchIndex;
+        this.productSuggestIndex = productSuggestIndex;
+        this.productCache = productCache;
     }
 
     @Override
@@ -34,9 +58,52 @@ public class ProductServiceImpl implements ProductService {
         return productMapper.toResponse(productRepository.findAll());
     }
 
+    @Override
+    public CursorPage<ProductResponse> findPage(ProductFilter filter, KeysetRequest request) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minPrice must not exceed maxPrice");
+        }
+
+        ProductSort sort = ProductSort.from(request);
+        Specification<Product> specification = ProductSpecifications.matching(filter)
+                .and(ProductSpecifications.after(sort, request));
+
+        List<ProductResponse> rows = productRepository.findResponses(specification, sort.toSort(), request.getLimit() + 1);
+        return CursorPage.of(rows, request.getLimit(), Function.identity(), sort::cursorOf);
+    }
+
     @Override
     public Optional<ProductResponse> findById(Long id) {
-        return productRepository.findById(id).map(productMapper::toResponse);
+        return productCache.get(id, key -> productRepository.findById(key).map(productMapper::toResponse));
+    }
+
+    @Override
+    public List<ProductResponse> search(String query, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+
+        List<Long> ids = productSearchIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Product> byId = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(productMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > ProductSuggestIndex.MAX_SUGGESTIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + ProductSuggestIndex.MAX_SUGGESTIONS);
+        }
+        return productSuggestIndex.suggest(prefix, limit);
     }
 
     @Override
@@ -52,6 +119,8 @@ public class ProductServiceImpl implements ProductService {
         product.setSeller(seller);
 
         Product saved = productRepository.save(product);
+        productSearchIndex.index(saved);
+        productSuggestIndex.index(saved);
         return productMapper.toResponse(saved);
     }
 
@@ -76,11 +145,17 @@ public class ProductServiceImpl implements ProductService {
         existing.setStatus(request.getStatus());
 
         Product updated = productRepository.save(existing);
+        productSearchIndex.index(updated);
+        productSuggestIndex.index(updated);
+        productCache.invalidate(id);
         return Optional.of(productMapper.toResponse(updated));
     }
 
     @Override
     public void deleteById(Long id) {
         productRepository.deleteById(id);
+        productSearchIndex.remove(id);
+        productSuggestIndex.remove(id);
+        productCache.invalidate(id);
     }
 }
\ No newline at end of file
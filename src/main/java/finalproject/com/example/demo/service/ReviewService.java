@@ -1,5 +1,7 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.dto.review.ReviewRequest;
 import finalproject.com.example.demo.dto.review.ReviewResponse;
 
@@ -10,6 +12,8 @@ public interface ReviewService {
 
     List<ReviewResponse> findAll();
 
+    CursorPage<ReviewResponse> findPage(KeysetRequest request);
+
     Optional<ReviewResponse> findById(Long id);
 
     ReviewResponse create(ReviewRequest request);
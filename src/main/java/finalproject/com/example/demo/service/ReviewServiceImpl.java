@@ -1,5 +1,7 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.dto.review.ReviewRequest;
 import finalproject.com.example.demo.dto.review.ReviewResponse;
 import finalproject.com.example.demo.entity.Product;
@@ -9,7 +11,10 @@ import finalproject.com.example.demo.mapper.ReviewMapper;
 import finalproject.com.example.demo.repository.ProductRepository;
 import finalproject.com.example.demo.repository.ReviewRepository;
 import finalproject.com.example.demo.repository.UserRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,12 +26,14 @@ public class ReviewServiceImpl implements ReviewService {
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final ReviewMapper reviewMapper;
+    private final ProductRatingService productRatingService;
 
-    public ReviewServiceImpl(ReviewRepository reviewRepository, ProductRepository productRepository, UserRepository userRepository, ReviewMapper reviewMapper) {
+    public ReviewServiceImpl(ReviewRepository reviewRepository, ProductRepository productRepository, UserRepository userRepository, ReviewMapper reviewMapper, ProductRatingService productRatingService) {
         this.reviewRepository = reviewRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
         this.reviewMapper = reviewMapper;
+        this.productRatingService = productRatingService;
     }
 
     @Override
@@ -34,13 +41,25 @@ public class ReviewServiceImpl implements ReviewService {
         return reviewMapper.toResponse(reviewRepository.findAll());
     }
 
+    @Override
+    public CursorPage<ReviewResponse> findPage(KeysetRequest request) {
+        return KeysetPaging.fetchProjected(
+                request,
+                reviewRepository::findResponsesByIdGreaterThan,
+                reviewRepository::findResponsesByIdLessThan,
+                ReviewResponse::getId
+        );
+    }
+
     @Override
     public Optional<ReviewResponse> findById(Long id) {
         return reviewRepository.findById(id).map(reviewMapper::toResponse);
     }
 
     @Override
+    @Transactional
     public ReviewResponse create(ReviewRequest request) {
+        validateRating(request.getRating());
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         Product product = productRepository.findById(request.getProductId())
@@ -52,15 +71,18 @@ public class ReviewServiceImpl implements ReviewService {
         review.setProduct(product);
 
         Review saved = reviewRepository.save(review);
+        productRatingService.recordReview(product.getId(), saved.getRating());
         return reviewMapper.toResponse(saved);
     }
 
     @Override
+    @Transactional
     public Optional<ReviewResponse> update(Long id, ReviewRequest request) {
         Optional<Review> existingOpt = reviewRepository.findById(id);
         if (existingOpt.isEmpty()) {
             return Optional.empty();
         }
+        validateRating(request.getRating());
 
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -68,17 +90,33 @@ public class ReviewServiceImpl implements ReviewService {
                 .orElseThrow(() -> new IllegalArgumentException("Product not found"));
 
         Review existing = existingOpt.get();
+        Long previousProductId = existing.getProduct().getId();
+        int previousRating = existing.getRating();
         existing.setUser(user);
         existing.setProduct(product);
         existing.setRating(request.getRating());
         existing.setComment(request.getComment());
 
         Review updated = reviewRepository.save(existing);
+        if (!previousProductId.equals(product.getId()) || previousRating != updated.getRating()) {
+            productRatingService.removeReview(previousProductId, previousRating);
+            productRatingService.recordReview(product.getId(), updated.getRating());
+        }
         return Optional.of(reviewMapper.toResponse(updated));
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
-        reviewRepository.deleteById(id);
+        reviewRepository.findById(id).ifPresent(review -> {
+            reviewRepository.delete(review);
+            productRatingService.removeReview(review.getProduct().getId(), review.getRating());
+        });
+    }
+
+    private static void validateRating(Integer rating) {
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rating must be between 1 and 5");
+        }
     }
 }
\ No newline at end of file
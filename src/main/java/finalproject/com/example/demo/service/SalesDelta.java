@@ -0,0 +1,98 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.repository.OrderSales;
+import finalproject.com.example.demo.repository.SalesTotals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Difference between two states of orders, per rollup row. Each order counts once per day,
+ * once per category and once per product it contains, however many lines it has, so removing
+ * one of two lines for a product changes units and revenue but not the order count.
+ */
+class SalesDelta {
+
+    private final Map<List<Object>, SalesTotals> daily = new HashMap<>();
+    private final Map<List<Object>, SalesTotals> categories = new HashMap<>();
+    private final Map<List<Object>, SalesTotals> products = new HashMap<>();
+
+    static SalesDelta between(OrderSales before, OrderSales after) {
+        SalesDelta delta = new SalesDelta();
+        delta.add(before, -1);
+        delta.add(after, 1);
+        return delta;
+    }
+
+    void add(OrderSales sales, int sign) {
+        if (!sales.exists()) {
+            return;
+        }
+        LocalDate day = sales.getDay();
+        String status = sales.getStatus();
+
+        SalesTotals order = new SalesTotals(day, null, null, status);
+        Map<Long, SalesTotals> byCategory = new LinkedHashMap<>();
+        Map<Long, SalesTotals> byProduct = new LinkedHashMap<>();
+        for (OrderSales.Line line : sales.getLines()) {
+            order.add(0, line.getQuantity(), line.getRevenue());
+            byCategory.computeIfAbsent(line.getCategoryId(), id -> new SalesTotals(day, id, null, status))
+                    .add(0, line.getQuantity(), line.getRevenue());
+            byProduct.computeIfAbsent(line.getProductId(), id -> new SalesTotals(day, line.getCategoryId(), id, status))
+                    .add(0, line.getQuantity(), line.getRevenue());
+        }
+
+        merge(daily, List.of(day, status), order, sign);
+        for (SalesTotals totals : byCategory.values()) {
+            merge(categories, List.of(day, totals.getCategoryId(), status), totals, sign);
+        }
+        for (SalesTotals totals : byProduct.values()) {
+            merge(products, List.of(day, totals.getProductId(), status), totals, sign);
+        }
+    }
+
+    boolean isEmpty() {
+        return daily().isEmpty() && categories().isEmpty() && products().isEmpty();
+    }
+
+    Set<LocalDate> days() {
+        Set<LocalDate> days = new TreeSet<>();
+        daily.values().forEach(totals -> days.add(totals.getDay()));
+        return days;
+    }
+
+    List<SalesTotals> daily() {
+        return nonZero(daily.values());
+    }
+
+    List<SalesTotals> categories() {
+        return nonZero(categories.values());
+    }
+
+    List<SalesTotals> products() {
+        return nonZero(products.values());
+    }
+
+    /**
+     * Each order adds itself once to every row it touches, which is where the order count comes from.
+     */
+    private static void merge(Map<List<Object>, SalesTotals> rows, List<Object> key, SalesTotals totals, int sign) {
+        SalesTotals row = rows.computeIfAbsent(key,
+                k -> new SalesTotals(totals.getDay(), totals.getCategoryId(), totals.getProductId(), totals.getStatus()));
+        row.add(sign, sign * totals.getUnits(), totals.getRevenue().multiply(BigDecimal.valueOf(sign)));
+    }
+
+    private static List<SalesTotals> nonZero(Collection<SalesTotals> rows) {
+        return rows.stream()
+                .filter(totals -> !totals.isZero())
+                .sorted(SalesTotals.KEY_ORDER)
+                .toList();
+    }
+}
@@ -0,0 +1,29 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.report.SalesRebuildReport;
+import finalproject.com.example.demo.dto.report.SalesReportRow;
+import finalproject.com.example.demo.entity.Order;
+import finalproject.com.example.demo.entity.OrderItem;
+import finalproject.com.example.demo.repository.OrderSales;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesRollupService {
+
+    /**
+     * Locks the order and reads what it currently contributes; pass the result to
+     * {@link #recordChange} once the order or its items have been written.
+     */
+    OrderSales capture(Long orderId);
+
+    void recordChange(OrderSales before);
+
+    void recordCreated(Order order, List<OrderItem> items);
+
+    void recordStatusChange(OrderSales before, String status);
+
+    List<SalesReportRow> report(LocalDate from, LocalDate to, String groupBy, List<String> statuses, Integer limit);
+
+    SalesRebuildReport rebuild(LocalDate from, LocalDate to);
+}
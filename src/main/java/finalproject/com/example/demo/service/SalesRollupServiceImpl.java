@@ -0,0 +1,201 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.report.SalesRebuildReport;
+import finalproject.com.example.demo.dto.report.SalesReportRow;
+import finalproject.com.example.demo.entity.Order;
+import finalproject.com.example.demo.entity.OrderItem;
+import finalproject.com.example.demo.entity.OrderStatus;
+import finalproject.com.example.demo.repository.OrderSales;
+import finalproject.com.example.demo.repository.SalesGrouping;
+import finalproject.com.example.demo.repository.SalesRollupRepository;
+import finalproject.com.example.demo.repository.SalesTotals;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Keeps the daily sales rollups in step with orders. Every write to an order applies the
+ * difference between what the order contributed before and after it, inside the same
+ * transaction, so reports never need to touch t_orders or t_order_items.
+ */
+@Service
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupServiceImpl.class);
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    /**
+     * Statuses counted as sales when a report does not name any.
+     */
+    static final List<String> DEFAULT_STATUSES = Arrays.stream(OrderStatus.values())
+            .filter(status -> status != OrderStatus.CANCELLED)
+            .map(OrderStatus::name)
+            .toList();
+
+    private final SalesRollupRepository rollupRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildParallelism;
+
+    public SalesRollupServiceImpl(
+            SalesRollupRepository rollupRepository,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.reports.sales.rebuild-parallelism:4}") int rebuildParallelism
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildParallelism = rebuildParallelism;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OrderSales capture(Long orderId) {
+        rollupRepository.lockOrder(orderId);
+        return rollupRepository.findOrderSales(orderId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(OrderSales before) {
+        entityManager.flush();
+        apply(SalesDelta.between(before, rollupRepository.findOrderSales(before.getOrderId())));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Order order, List<OrderItem> items) {
+        apply(SalesDelta.between(OrderSales.none(order.getId()), OrderSales.of(order, items)));
+    }
+
+    /**
+     * A status change moves the whole order to another status bucket; the items are already
+     * known from {@code before}, so nothing is read again.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(OrderSales before, String status) {
+        apply(SalesDelta.between(before, before.withStatus(status)));
+    }
+
+    private void apply(SalesDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        delta.days().forEach(rollupRepository::lockDayShared);
+
+        List<SalesTotals> daily = delta.daily();
+        if (!daily.isEmpty()) {
+            rollupRepository.applyDaily(daily);
+        }
+        List<SalesTotals> categories = delta.categories();
+        if (!categories.isEmpty()) {
+            rollupRepository.applyCategories(categories);
+        }
+        List<SalesTotals> products = delta.products();
+        if (!products.isEmpty()) {
+            rollupRepository.applyProducts(products);
+        }
+    }
+
+    @Override
+    public List<SalesReportRow> report(LocalDate from, LocalDate to, String groupBy, List<String> statuses, Integer limit) {
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        int size = limit != null ? limit : DEFAULT_LIMIT;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        SalesGrouping grouping = SalesGrouping.from(groupBy);
+        return rollupRepository.findSales(grouping, from, to, parseStatuses(statuses), size);
+    }
+
+    private static List<String> parseStatuses(List<String> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            return DEFAULT_STATUSES;
+        }
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String status : statuses) {
+            try {
+                parsed.add(OrderStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)).name());
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown status: " + status);
+            }
+        }
+        return List.copyOf(parsed);
+    }
+
+    /**
+     * Recomputes the rollups of every day in {@code [from, to)} from the order tables, one
+     * day per transaction and {@code app.reports.sales.rebuild-parallelism} days at a time.
+     * Defaults cover everything from the first order up to and including today.
+     */
+    @Override
+    public SalesRebuildReport rebuild(LocalDate from, LocalDate to) {
+        long started = System.nanoTime();
+        LocalDate start = from != null ? from : rollupRepository.findFirstOrderDate();
+        LocalDate end = to != null ? to : LocalDate.now().plusDays(1);
+        if (start == null) {
+            return new SalesRebuildReport(null, end, 0, 0, 0);
+        }
+        if (!start.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+
+        List<Future<Long>> days = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildParallelism);
+        try {
+            for (LocalDate day = start; day.isBefore(end); day = day.plusDays(1)) {
+                LocalDate current = day;
+                days.add(executor.submit(() -> rebuildDay(current)));
+            }
+
+            long written = 0;
+            for (Future<Long> day : days) {
+                written += day.get();
+            }
+
+            long durationMs = (System.nanoTime() - started) / 1_000_000;
+            log.info("Rebuilt sales rollups for {} days from {}: {} rows, {} ms", days.size(), start, written, durationMs);
+            return new SalesRebuildReport(start, end, days.size(), written, durationMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sales rollup rebuild was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Sales rollup rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long rebuildDay(LocalDate day) {
+        Long written = transactionTemplate.execute(status -> {
+            rollupRepository.lockDayExclusive(day);
+            return rollupRepository.rebuildDay(day);
+        });
+        return written != null ? written : 0;
+    }
+}
@@ -0,0 +1,25 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.stock.StockRequest;
+import finalproject.com.example.demo.dto.stock.StockResponse;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface StockService {
+
+    /**
+     * Takes {@code quantities} (product id to units) for the order, or fails with 409 without
+     * taking anything if any tracked product is short.
+     */
+    void reserve(Long orderId, Map<Long, Integer> quantities);
+
+    /**
+     * Gives back everything the order reserved; does nothing if it reserved nothing.
+     */
+    void release(Long orderId);
+
+    Optional<StockResponse> getStock(Long productId);
+
+    Optional<StockResponse> setStock(Long productId, StockRequest request);
+}
@@ -0,0 +1,140 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.stock.StockRequest;
+import finalproject.com.example.demo.dto.stock.StockResponse;
+import finalproject.com.example.demo.repository.ProductRepository;
+import finalproject.com.example.demo.repository.StockRepository;
+import finalproject.com.example.demo.repository.StockReservation;
+import finalproject.com.example.demo.repository.StockSlot;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Stock is split into slots per product and taken with conditional decrements, so it can
+ * never be oversold and concurrent buyers of one product do not all wait on the same row.
+ * Products without stock rows are not tracked and never run out.
+ */
+@Service
+public class StockServiceImpl implements StockService {
+
+    static final int MAX_SLOTS = 64;
+
+    private final StockRepository stockRepository;
+    private final ProductRepository productRepository;
+
+    public StockServiceImpl(StockRepository stockRepository, ProductRepository productRepository) {
+        this.stockRepository = stockRepository;
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Products are taken in id order so two carts sharing products lock their slots in the
+     * same sequence. The rollback of the surrounding transaction undoes a partial reservation.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Long orderId, Map<Long, Integer> quantities) {
+        List<StockReservation> reservations = new ArrayList<>();
+        new TreeMap<>(quantities).forEach((productId, quantity) -> take(orderId, productId, quantity, reservations));
+        if (!reservations.isEmpty()) {
+            stockRepository.saveReservations(reservations);
+        }
+    }
+
+    /**
+     * Usually a single UPDATE. Only when no one slot holds enough (or all that do are busy)
+     * are the product's slots locked and the quantity gathered from several of them.
+     */
+    private void take(Long orderId, Long productId, int quantity, List<StockReservation> reservations) {
+        Integer slot = stockRepository.takeFromAnySlot(productId, quantity);
+        if (slot != null) {
+            reservations.add(new StockReservation(orderId, productId, slot, quantity));
+            return;
+        }
+
+        List<StockSlot> slots = stockRepository.lockSlots(productId);
+        if (slots.isEmpty()) {
+            return;
+        }
+        long available = slots.stream().mapToLong(StockSlot::getQuantity).sum();
+        if (available < quantity) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient stock for product " + productId);
+        }
+
+        int remaining = quantity;
+        for (StockSlot current : slots) {
+            int part = Math.min(remaining, current.getQuantity());
+            if (part > 0) {
+                if (!stockRepository.takeFromSlot(productId, current.getSlot(), part)) {
+                    throw new IllegalStateException("Locked stock slot changed: product " + productId + ", slot " + current.getSlot());
+                }
+                reservations.add(new StockReservation(orderId, productId, current.getSlot(), part));
+                remaining -= part;
+            }
+            if (remaining == 0) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long orderId) {
+        List<StockReservation> reservations = new ArrayList<>(stockRepository.deleteReservations(orderId));
+        if (reservations.isEmpty()) {
+            return;
+        }
+        reservations.sort(StockReservation.SLOT_ORDER);
+        stockRepository.restore(reservations);
+    }
+
+    @Override
+    public Optional<StockResponse> getStock(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            return Optional.empty();
+        }
+        return Optional.of(stockRepository.findStock(productId));
+    }
+
+    /**
+     * Replaces the product's stock with {@code available} units spread evenly over the
+     * requested number of slots, or over as many as it has now if none is given.
+     */
+    @Override
+    @Transactional
+    public Optional<StockResponse> setStock(Long productId, StockRequest request) {
+        if (request.getAvailable() == null || request.getAvailable() < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "available must be zero or more");
+        }
+        if (!productRepository.existsById(productId)) {
+            return Optional.empty();
+        }
+
+        int slots = request.getSlots() != null
+                ? request.getSlots()
+                : Math.max(1, stockRepository.lockSlots(productId).size());
+        if (slots < 1 || slots > MAX_SLOTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "slots must be between 1 and " + MAX_SLOTS);
+        }
+
+        stockRepository.replaceSlots(productId, split(request.getAvailable(), slots));
+        return Optional.of(new StockResponse(productId, true, request.getAvailable(), slots));
+    }
+
+    static int[] split(int available, int slots) {
+        int[] quantities = new int[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            quantities[slot] = available / slots + (slot < available % slots ? 1 : 0);
+        }
+        return quantities;
+    }
+}
@@ -1,5 +1,7 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.dto.user.AdminCreateUserRequest;
 import finalproject.com.example.demo.dto.user.UpdateProfileRequest;
 import finalproject.com.example.demo.dto.user.UserResponse;
@@ -12,6 +14,8 @@ public interface UserService extends UserDetailsService {
 
     List<UserResponse> findAllUsers();
 
+    CursorPage<UserResponse> findUsersPage(KeysetRequest request);
+
     Boolean register(String email, String password, String repeatPassword, String fullName);
 
     void changePassword(String oldPassword, String newPassword, String repeatNewPassword);
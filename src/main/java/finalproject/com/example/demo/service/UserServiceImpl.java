@@ -1,5 +1,8 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.cache.UserDetailsCache;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.dto.user.AdminCreateUserRequest;
 import finalproject.com.example.demo.dto.user.UpdateProfileRequest;
 import finalproject.com.example.demo.dto.user.UserResponse;
@@ -8,6 +11,7 @@ import finalproject.com.example.demo.entity.User;
 import finalproject.com.example.demo.mapper.UserMapper;
 import finalproject.com.example.demo.repository.RoleRepository;
 import finalproject.com.example.demo.repository.UserRepository;
+import finalproject.com.example.demo.security.jwt.TokenRevocations;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -41,11 +45,22 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private TokenRevocations tokenRevocations;
+
     @Override
     public List<UserResponse> findAllUsers() {
         return userMapper.toResponse(userRepository.findAll());
     }
 
+    @Override
+    public CursorPage<UserResponse> findUsersPage(KeysetRequest request) {
+        return KeysetPaging.fetch(userRepository, request, userMapper::toResponse);
+    }
+
     //*f
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -103,9 +118,19 @@ public class UserServiceImpl implements UserService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Email is occupied!");
         }
 
+        String previousEmail = current.getEmail();
+        boolean emailChanged = !previousEmail.equals(request.getEmail());
         current.setEmail(request.getEmail());
         current.setFullName(request.getFullName());
+        if (emailChanged) {
+            current.setTokenVersion(current.getTokenVersion() + 1);
+        }
         userRepository.save(current);
+        if (emailChanged) {
+            tokenRevocations.revokeBefore(current.getId(), current.getTokenVersion());
+        }
+        userDetailsCache.invalidate(previousEmail);
+        userDetailsCache.invalidate(current.getEmail());
 
         return userMapper.toResponse(current);
     }
@@ -153,7 +178,10 @@ public class UserServiceImpl implements UserService {
         }
 
         current.setPassword(passwordEncoder.encode(newPassword));
+        current.setTokenVersion(current.getTokenVersion() + 1);
         userRepository.save(current);
+        tokenRevocations.revokeBefore(current.getId(), current.getTokenVersion());
+        userDetailsCache.invalidate(current.getEmail());
     }
 
     @Override
@@ -180,7 +208,10 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
         user.setBlocked(true);
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        tokenRevocations.revokeBefore(user.getId(), user.getTokenVersion());
+        userDetailsCache.invalidate(user.getEmail());
     }
 
     @Override
@@ -189,14 +220,16 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
         user.setBlocked(false);
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
     }
 
     @Override
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
         userRepository.deleteById(id);
+        tokenRevocations.revokeBefore(id, TokenRevocations.ALL);
+        userDetailsCache.invalidate(user.getEmail());
     }
 
     @PostConstruct
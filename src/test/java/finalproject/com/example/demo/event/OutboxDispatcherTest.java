@@ -0,0 +1,145 @@
+package finalproject.com.example.demo.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import finalproject.com.example.demo.entity.OutboxMessage;
+import finalproject.com.example.demo.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxMessageRepository outboxRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new OutboxDispatcher(outboxRepository, transactionTemplate, eventPublisher, objectMapper, 10, 3, 2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void deliversLeasedBatchAndDeletesDeliveredRows() throws Exception {
+        when(outboxRepository.lockDue(any(Instant.class), eq(10)))
+                .thenReturn(List.of(message(1L, 7L, 0), message(2L, 8L, 0)));
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(2);
+
+        verify(outboxRepository).lease(eq(List.of(1L, 2L)), any(Instant.class));
+        ArgumentCaptor<OrderEvent> events = ArgumentCaptor.forClass(OrderEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(OrderEvent::getEventId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(events.getAllValues()).extracting(OrderEvent::getOrderId).containsExactlyInAnyOrder(7L, 8L);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxRepository, never()).reschedule(anyLong(), anyInt(), any(), anyString(), any());
+    }
+
+    @Test
+    void reschedulesFailedDeliveryWithBackoff() throws Exception {
+        when(outboxRepository.lockDue(any(Instant.class), eq(10))).thenReturn(List.of(message(1L, 7L, 1)));
+        doThrow(new IllegalStateException("mail server down")).when(eventPublisher).publishEvent(any(Object.class));
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository, never()).deleteAllByIdInBatch(anyList());
+        ArgumentCaptor<Instant> availableAt = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository).reschedule(eq(1L), eq(2), availableAt.capture(), eq(OutboxMessage.PENDING), error.capture());
+        assertThat(availableAt.getValue()).isAfter(Instant.now().plusSeconds(1));
+        assertThat(error.getValue()).contains("mail server down");
+    }
+
+    @Test
+    void marksMessageDeadAfterLastAttempt() throws Exception {
+        when(outboxRepository.lockDue(any(Instant.class), eq(10))).thenReturn(List.of(message(1L, 7L, 2)));
+        doThrow(new IllegalStateException("still down")).when(eventPublisher).publishEvent(any(Object.class));
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepository).reschedule(eq(1L), eq(3), any(Instant.class), eq(OutboxMessage.DEAD), anyString());
+    }
+
+    @Test
+    void emptyPollTouchesNothingElse() {
+        when(outboxRepository.lockDue(any(Instant.class), eq(10))).thenReturn(List.of());
+
+        assertThat(dispatcher.dispatchBatch()).isZero();
+
+        verify(outboxRepository, never()).lease(any(), any());
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    void backoffDoublesUpToCap() {
+        assertThat(OutboxDispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(OutboxDispatcher.backoff(4)).isEqualTo(Duration.ofSeconds(8));
+        assertThat(OutboxDispatcher.backoff(30)).isEqualTo(OutboxDispatcher.MAX_BACKOFF);
+    }
+
+    private OutboxMessage message(Long id, Long orderId, int attempts) throws Exception {
+        OrderEvent event = new OrderEvent(null, OrderEventType.ORDER_CREATED, orderId, 3L, "PENDING",
+                new BigDecimal("12.50"), 0L, Instant.parse("2026-10-17T10:00:00Z"));
+        OutboxMessage message = new OutboxMessage();
+        message.setId(id);
+        message.setAggregateType(OrderOutbox.AGGREGATE_TYPE);
+        message.setAggregateId(orderId);
+        message.setEventType(event.getType().name());
+        message.setPayload(objectMapper.writeValueAsString(event));
+        message.setAttempts(attempts);
+        return message;
+    }
+}
@@ -0,0 +1,200 @@
+package finalproject.com.example.demo.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"userId\":1,\"totalPrice\":10}";
+
+    @Mock
+    private IdempotencyStore store;
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(store, List.of("/orders", "/order-items"), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void passesThroughWithoutKey() throws Exception {
+        MockHttpServletRequest request = post("/orders", null);
+        AtomicInteger calls = new AtomicInteger();
+
+        filter.doFilter(request, new MockHttpServletResponse(), created(calls));
+
+        assertThat(calls).hasValue(1);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void storesFirstSuccessfulResponse() throws Exception {
+        when(store.acquire(eq("anonymous:k1"), anyString())).thenReturn(Optional.empty());
+        when(store.complete(eq("anonymous:k1"), anyString(), eq(201), anyString(), eq("/orders/7"), any(byte[].class)))
+                .thenAnswer(invocation -> stored(invocation.getArgument(1)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(post("/orders", "k1"), response, created(new AtomicInteger()));
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":7}");
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        verify(store, never()).release(anyString());
+    }
+
+    @Test
+    void replaysEarlierResponseWithoutRunningTheRequest() throws Exception {
+        String hash = IdempotencyFilter.hash("POST", "/orders", BODY.getBytes(StandardCharsets.UTF_8));
+        when(store.acquire("anonymous:k1", hash)).thenReturn(Optional.of(stored(hash)));
+        AtomicInteger calls = new AtomicInteger();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(post("/orders", "k1"), response, created(calls));
+
+        assertThat(calls).hasValue(0);
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getHeader(HttpHeaders.LOCATION)).isEqualTo("/orders/7");
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":7}");
+    }
+
+    @Test
+    void releasesKeyWhenRequestFails() throws Exception {
+        when(store.acquire(eq("anonymous:k1"), anyString())).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(post("/orders", "k1"), response,
+                (req, res) -> ((HttpServletResponse) res).setStatus(400));
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        verify(store).release("anonymous:k1");
+        verify(store, never()).complete(anyString(), anyString(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void rejectsOverlongKey() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(post("/orders", "x".repeat(IdempotencyFilter.MAX_KEY_LENGTH + 1)), response,
+                created(new AtomicInteger()));
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForFirstRequest() throws Exception {
+        when(store.acquire(eq("anonymous:k1"), anyString())).thenReturn(Optional.empty());
+        when(store.complete(eq("anonymous:k1"), anyString(), eq(201), anyString(), eq("/orders/7"), any(byte[].class)))
+                .thenAnswer(invocation -> stored(invocation.getArgument(1)));
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        FilterChain slow = (req, res) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            created(calls).doFilter(req, res);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            MockHttpServletResponse first = new MockHttpServletResponse();
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            Future<?> firstRun = executor.submit(() -> {
+                filter.doFilter(post("/orders", "k1"), first, slow);
+                return null;
+            });
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            AtomicReference<Thread> waiter = new AtomicReference<>();
+            Future<?> secondRun = executor.submit(() -> {
+                waiter.set(Thread.currentThread());
+                filter.doFilter(post("/orders", "k1"), second, slow);
+                return null;
+            });
+            // the duplicate parks on the first request's future
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((waiter.get() == null || waiter.get().getState() != Thread.State.TIMED_WAITING)
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            firstRun.get(5, TimeUnit.SECONDS);
+            secondRun.get(5, TimeUnit.SECONDS);
+
+            assertThat(calls).hasValue(1);
+            assertThat(second.getStatus()).isEqualTo(201);
+            assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+            assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+            verify(store, times(1)).acquire(eq("anonymous:k1"), anyString());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static MockHttpServletRequest post(String path, String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType("application/json");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        return request;
+    }
+
+    private static FilterChain created(AtomicInteger calls) {
+        return (req, res) -> {
+            calls.incrementAndGet();
+            req.getInputStream().readAllBytes();
+            HttpServletResponse response = (HttpServletResponse) res;
+            response.setStatus(201);
+            response.setContentType("application/json");
+            response.setHeader(HttpHeaders.LOCATION, "/orders/7");
+            response.getWriter().write("{\"id\":7}");
+            response.getWriter().flush();
+        };
+    }
+
+    private static StoredResponse stored(String requestHash) {
+        return new StoredResponse(requestHash, 201, "application/json", "/orders/7",
+                "{\"id\":7}".getBytes(StandardCharsets.UTF_8), Instant.now().plusSeconds(60));
+    }
+}
@@ -0,0 +1,71 @@
+package finalproject.com.example.demo.search;
+
+import finalproject.com.example.demo.entity.Product;
+import finalproject.com.example.demo.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index.index(product(1L, "Aurora Noise-Cancelling Headphones", "Wireless over-ear headphones"));
+        index.index(product(2L, "Espresso Machine", "Stainless steel espresso maker for the home"));
+        index.index(product(3L, "Trail Running Shoes", "Lightweight shoes with wireless tracking pod"));
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        index.index(product(4L, "Wireless Charger", "Fast charging pad"));
+
+        assertThat(index.search("wireless", 10)).startsWith(4L).contains(1L, 3L);
+    }
+
+    @Test
+    void toleratesTyposThroughTrigramExpansion() {
+        assertThat(index.search("headphnes", 10)).containsExactly(1L);
+        assertThat(index.search("expresso", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void updateReplacesPreviousTerms() {
+        index.index(product(2L, "Pour Over Kettle", "Gooseneck kettle"));
+
+        assertThat(index.search("espresso", 10)).isEmpty();
+        assertThat(index.search("kettle", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void removedProductsAreNotReturned() {
+        index.remove(1L);
+
+        assertThat(index.search("headphones", 10)).isEmpty();
+    }
+
+    @Test
+    void limitCapsNumberOfHits() {
+        assertThat(index.search("wireless", 1)).hasSize(1);
+        assertThat(index.search("   ", 10)).isEmpty();
+    }
+
+    private static Product product(Long id, String name, String description) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setDescription(description);
+        return product;
+    }
+}
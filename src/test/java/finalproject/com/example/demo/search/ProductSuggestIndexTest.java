@@ -0,0 +1,172 @@
+package finalproject.com.example.demo.search;
+
+import finalproject.com.example.demo.dto.product.ProductSuggestion;
+import finalproject.com.example.demo.entity.Product;
+import finalproject.com.example.demo.repository.OrderItemRepository;
+import finalproject.com.example.demo.repository.ProductPopularity;
+import finalproject.com.example.demo.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @InjectMocks
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findSuggestionsByIdGreaterThan(0L)).thenReturn(List.of(
+                new ProductSuggestion(1L, "Phone Case"),
+                new ProductSuggestion(2L, "Phone Charger"),
+                new ProductSuggestion(3L, "Photo Frame"),
+                new ProductSuggestion(4L, "Laptop Stand")));
+        when(orderItemRepository.sumQuantityByProduct()).thenReturn(List.of(
+                popularity(2L, 50L),
+                popularity(3L, 20L),
+                popularity(1L, 5L)));
+        index.rebuild();
+    }
+
+    @Test
+    void ranksPrefixMatchesByPopularity() {
+        assertThat(ids(index.suggest("ph", 10))).containsExactly(2L, 3L, 1L);
+        assertThat(ids(index.suggest("PHONE ", 10))).containsExactly(2L, 1L);
+        assertThat(index.suggest("tablet", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void limitCapsNumberOfSuggestions() {
+        assertThat(ids(index.suggest("ph", 1))).containsExactly(2L);
+    }
+
+    @Test
+    void renameKeepsPopularityAndDropsOldPrefix() {
+        index.index(product(2L, "Wireless Charger"));
+
+        assertThat(ids(index.suggest("phone", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("wire", 10))).containsExactly(2L);
+        assertThat(ids(index.suggest("ph", 10))).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void removalPromotesNextBestFromSubtree() {
+        IntStream.rangeClosed(10, 30).forEach(id -> index.index(product((long) id, "Phone Model " + id)));
+
+        assertThat(index.suggest("ph", 10)).hasSize(ProductSuggestIndex.MAX_SUGGESTIONS);
+        assertThat(ids(index.suggest("ph", 10))).startsWith(2L, 3L, 1L);
+
+        index.remove(2L);
+        index.remove(3L);
+
+        assertThat(ids(index.suggest("ph", 10))).startsWith(1L).hasSize(ProductSuggestIndex.MAX_SUGGESTIONS);
+        assertThat(index.suggest("photo", 10)).isEmpty();
+    }
+
+    @Test
+    void prefixEndingInsideAnEdgeMatchesItsWholeSubtree() {
+        assertThat(ids(index.suggest("phone c", 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.suggest("phone ch", 10))).containsExactly(2L);
+        assertThat(ids(index.suggest("phot", 10))).containsExactly(3L);
+        assertThat(index.suggest("phone x", 10)).isEmpty();
+        assertThat(index.suggest("phone charger plus", 10)).isEmpty();
+    }
+
+    @Test
+    void recordedSalesReorderSuggestions() {
+        index.recordSales(Map.of(1L, 100, 99L, 5));
+
+        assertThat(ids(index.suggest("ph", 10))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(index.suggest("phone", 10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void matchesLinearScanAfterRandomEdits() {
+        LongStream.rangeClosed(1, 4).forEach(index::remove);
+        Random random = new Random(42);
+        String[] words = {"a", "ab", "abc", "b", "ba", "phone", "pho", "x"};
+        Map<Long, String> names = new HashMap<>();
+        Map<Long, Long> sold = new HashMap<>();
+        for (int step = 0; step < 2_000; step++) {
+            long id = 100 + random.nextInt(60);
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                    index.index(product(id, name));
+                    names.put(id, name);
+                }
+                case 2 -> {
+                    index.remove(id);
+                    names.remove(id);
+                    sold.remove(id);
+                }
+                default -> {
+                    int units = 1 + random.nextInt(5);
+                    index.recordSales(Map.of(id, units));
+                    if (names.containsKey(id)) {
+                        sold.merge(id, (long) units, Long::sum);
+                    }
+                }
+            }
+        }
+
+        for (String prefix : List.of("a", "ab", "abc", "a a", "b", "ba b", "p", "phone", "phone p", "x", "x x")) {
+            List<Long> expected = names.entrySet().stream()
+                    .filter(entry -> ProductSuggestIndex.normalize(entry.getValue()).startsWith(prefix))
+                    .sorted(Comparator.comparing((Map.Entry<Long, String> entry) -> -sold.getOrDefault(entry.getKey(), 0L))
+                            .thenComparing(entry -> ProductSuggestIndex.normalize(entry.getValue()))
+                            .thenComparing(Map.Entry::getKey))
+                    .limit(ProductSuggestIndex.MAX_SUGGESTIONS)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            assertThat(ids(index.suggest(prefix, 10))).as(prefix).containsExactlyElementsOf(expected);
+        }
+    }
+
+    private static List<Long> ids(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::getId).toList();
+    }
+
+    private static Product product(Long id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        return product;
+    }
+
+    private static ProductPopularity popularity(Long productId, Long quantity) {
+        return new ProductPopularity() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Long getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package finalproject.com.example.demo.security.jwt;
+
+import finalproject.com.example.demo.cache.UserDetailsCache;
+import finalproject.com.example.demo.cache.VerifiedTokenCache;
+import finalproject.com.example.demo.entity.Role;
+import finalproject.com.example.demo.entity.User;
+import finalproject.com.example.demo.service.UserService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hs256";
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private TokenRevocations tokenRevocations;
+
+    private VerifiedTokenCache verifiedTokens;
+    private JwtService jwtService;
+    private JwtAuthFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokens = new VerifiedTokenCache(100);
+        jwtService = new JwtService(SECRET, 60_000, verifiedTokens);
+        filter = new JwtAuthFilter(jwtService, userService, userDetailsCache, tokenRevocations);
+
+        Role role = new Role();
+        role.setRole("ROLE_SELLER");
+        user = new User();
+        user.setId(5L);
+        user.setEmail("seller@example.com");
+        user.setPassword("encoded");
+        user.setRoles(List.of(role));
+        user.setTokenVersion(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesFromClaimsWithoutLoadingTheUser() throws Exception {
+        when(tokenRevocations.isRevoked(5L, 2)).thenReturn(false);
+
+        filter.doFilter(bearer(jwtService.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(((UserDetails) authentication.getPrincipal()).getUsername()).isEqualTo("seller@example.com");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_SELLER");
+        verifyNoInteractions(userService, userDetailsCache);
+    }
+
+    @Test
+    void verifiesRepeatedTokenOnceButChecksRevocationEveryTime() throws Exception {
+        when(tokenRevocations.isRevoked(5L, 2)).thenReturn(false, true);
+        String token = jwtService.generateToken(user);
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        SecurityContextHolder.clearContext();
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(verifiedTokens.getStats().getMissCount()).isEqualTo(1);
+        assertThat(verifiedTokens.getStats().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsRevokedTokenVersion() throws Exception {
+        when(tokenRevocations.isRevoked(5L, 2)).thenReturn(true);
+
+        filter.doFilter(bearer(jwtService.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void ignoresTokenSignedWithAnotherKey() throws Exception {
+        JwtService other = new JwtService("another-secret-that-is-long-enough-for-hs256", 60_000, new VerifiedTokenCache(0));
+
+        filter.doFilter(bearer(other.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(tokenRevocations);
+    }
+
+    @Test
+    void loadsUserForTokensWithoutRoleClaims() throws Exception {
+        String legacy = Jwts.builder()
+                .subject("seller@example.com")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        UserDetails loaded = new org.springframework.security.core.userdetails.User(
+                "seller@example.com", "encoded", user.getAuthorities());
+        when(userDetailsCache.get(eq("seller@example.com"), any())).thenReturn(loaded);
+
+        filter.doFilter(bearer(legacy), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(loaded);
+        verifyNoInteractions(tokenRevocations);
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+}
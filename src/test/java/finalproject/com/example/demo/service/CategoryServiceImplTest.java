@@ -1,25 +1,43 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.cache.CategoryCatalog;
+import finalproject.com.example.demo.cache.CategorySnapshot;
 import finalproject.com.example.demo.dto.category.CategoryRequest;
 import finalproject.com.example.demo.dto.category.CategoryResponse;
+import finalproject.com.example.demo.dto.category.CategoryTreeResponse;
+import finalproject.com.example.demo.dto.category.CategoryTreeRow;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.entity.Category;
+import finalproject.com.example.demo.entity.CategoryClosureId;
 import finalproject.com.example.demo.mapper.CategoryMapper;
+import finalproject.com.example.demo.repository.CategoryClosureRepository;
 import finalproject.com.example.demo.repository.CategoryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +49,12 @@ class CategoryServiceImplTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private CategoryClosureRepository categoryClosureRepository;
+
+    @Mock
+    private CategoryCatalog categoryCatalog;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -51,38 +75,61 @@ class CategoryServiceImplTest {
     }
 
     @Test
-    void findAllReturnsMappedCategories() {
-        when(categoryRepository.findAll()).thenReturn(List.of(category));
-        when(categoryMapper.toResponse(List.of(category))).thenReturn(List.of(response));
+    void findAllIsServedFromSnapshot() {
+        when(categoryCatalog.snapshot()).thenReturn(CategorySnapshot.of(List.of(response)));
 
         List<CategoryResponse> results = categoryService.findAll();
 
         assertThat(results).hasSize(1).containsExactly(response);
-        verify(categoryRepository).findAll();
-        verify(categoryMapper).toResponse(List.of(category));
+        verifyNoInteractions(categoryRepository, categoryMapper);
     }
 
     @Test
-    void findByIdReturnsMappedCategoryWhenPresent() {
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
-        when(categoryMapper.toResponse(category)).thenReturn(response);
+    void findByIdReturnsCategoryFromSnapshotWhenPresent() {
+        when(categoryCatalog.snapshot()).thenReturn(CategorySnapshot.of(List.of(response)));
 
         Optional<CategoryResponse> result = categoryService.findById(1L);
 
         assertTrue(result.isPresent());
         assertThat(result.get().getName()).isEqualTo("Electronics");
-        verify(categoryRepository).findById(1L);
-        verify(categoryMapper).toResponse(category);
+        verifyNoInteractions(categoryRepository);
+    }
+
+    @Test
+    void findPageSeeksThroughSnapshotInBothDirections() {
+        when(categoryCatalog.snapshot()).thenReturn(CategorySnapshot.of(List.of(
+                category(5L, modified(5)), category(1L, modified(1)), category(3L, modified(3)))));
+
+        CursorPage<CategoryResponse> first = categoryService.findPage(KeysetRequest.of(null, 2, null));
+        CursorPage<CategoryResponse> second = categoryService.findPage(KeysetRequest.of(first.getNext(), 2, null));
+        CursorPage<CategoryResponse> newest = categoryService.findPage(KeysetRequest.of(KeysetRequest.encodeCursor(5L), 5, "-id"));
+
+        assertThat(first.getItems()).extracting(CategoryResponse::getId).containsExactly(1L, 3L);
+        assertThat(second.getItems()).extracting(CategoryResponse::getId).containsExactly(5L);
+        assertThat(second.getNext()).isNull();
+        assertThat(newest.getItems()).extracting(CategoryResponse::getId).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void stampChangesWhenCollectionChanges() {
+        when(categoryCatalog.snapshot()).thenReturn(
+                CategorySnapshot.of(List.of(category(1L, modified(1)), category(2L, modified(2)), category(3L, modified(3)))),
+                CategorySnapshot.of(List.of(category(1L, modified(1)), category(2L, modified(2)))));
+
+        String before = categoryService.stamp().toETag("categories");
+        String after = categoryService.stamp().toETag("categories");
+
+        assertThat(before).isEqualTo("\"categories-3-" + modified(3).toEpochMilli() + "\"");
+        assertThat(after).isNotEqualTo(before);
     }
 
     @Test
     void findByIdReturnsEmptyWhenMissing() {
-        when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
+        when(categoryCatalog.snapshot()).thenReturn(CategorySnapshot.of(List.of(response)));
 
         Optional<CategoryResponse> result = categoryService.findById(99L);
 
         assertFalse(result.isPresent());
-        verify(categoryRepository).findById(99L);
     }
 
     @Test
@@ -107,7 +154,7 @@ class CategoryServiceImplTest {
         savedResponse.setDescription(saved.getDescription());
 
         when(categoryMapper.toEntity(request)).thenReturn(mapped);
-        when(categoryRepository.save(mapped)).thenReturn(saved);
+        when(categoryRepository.saveAndFlush(mapped)).thenReturn(saved);
         when(categoryMapper.toResponse(saved)).thenReturn(savedResponse);
 
         CategoryResponse result = categoryService.create(request);
@@ -116,11 +163,53 @@ class CategoryServiceImplTest {
         assertThat(result.getName()).isEqualTo("Home");
 
         ArgumentCaptor<Category> captor = ArgumentCaptor.forClass(Category.class);
-        verify(categoryRepository).save(captor.capture());
+        verify(categoryRepository).saveAndFlush(captor.capture());
         assertThat(captor.getValue().getId()).isNull();
         assertThat(captor.getValue().getName()).isEqualTo("Home");
         verify(categoryMapper).toEntity(request);
         verify(categoryMapper).toResponse(saved);
+        verify(categoryClosureRepository).insertSelf(10L);
+        verify(categoryClosureRepository, never()).attachSubtree(anyLong(), anyLong());
+        verify(categoryCatalog).reloadAfterCommit();
+    }
+
+    @Test
+    void createBelowParentLinksClosureRows() {
+        CategoryRequest request = new CategoryRequest();
+        request.setName("Phones");
+        request.setParentId(1L);
+
+        Category mapped = new Category();
+        mapped.setName("Phones");
+
+        when(categoryMapper.toEntity(request)).thenReturn(mapped);
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.saveAndFlush(mapped)).thenAnswer(invocation -> {
+            mapped.setId(11L);
+            return mapped;
+        });
+
+        categoryService.create(request);
+
+        assertThat(mapped.getParent()).isSameAs(category);
+        verify(categoryClosureRepository).insertSelf(11L);
+        verify(categoryClosureRepository).attachSubtree(11L, 1L);
+    }
+
+    @Test
+    void createRejectsUnknownParent() {
+        CategoryRequest request = new CategoryRequest();
+        request.setName("Orphan");
+        request.setParentId(42L);
+
+        when(categoryMapper.toEntity(request)).thenReturn(new Category());
+        when(categoryRepository.findById(42L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> categoryService.create(request))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(categoryRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -154,7 +243,7 @@ class CategoryServiceImplTest {
         updatedResponse.setDescription(request.getDescription());
 
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
-        when(categoryRepository.save(category)).thenReturn(updated);
+        when(categoryRepository.saveAndFlush(category)).thenReturn(updated);
         when(categoryMapper.toResponse(updated)).thenReturn(updatedResponse);
 
         Optional<CategoryResponse> result = categoryService.update(1L, request);
@@ -162,8 +251,59 @@ class CategoryServiceImplTest {
         assertTrue(result.isPresent());
         assertThat(result.get().getName()).isEqualTo("Updated");
         verify(categoryRepository).findById(1L);
-        verify(categoryRepository).save(category);
+        verify(categoryRepository).saveAndFlush(category);
         verify(categoryMapper).toResponse(updated);
+        verifyNoInteractions(categoryClosureRepository);
+        verify(categoryCatalog).reloadAfterCommit();
+    }
+
+    @Test
+    void updateMovesSubtreeUnderNewParent() {
+        Category parent = new Category();
+        parent.setId(2L);
+
+        CategoryRequest request = new CategoryRequest();
+        request.setName(category.getName());
+        request.setParentId(2L);
+
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.findById(2L)).thenReturn(Optional.of(parent));
+        when(categoryClosureRepository.existsById(new CategoryClosureId(1L, 2L))).thenReturn(false);
+        when(categoryRepository.saveAndFlush(category)).thenReturn(category);
+        CategoryResponse moved = new CategoryResponse();
+        moved.setId(1L);
+        moved.setName(category.getName());
+        moved.setParentId(2L);
+        when(categoryMapper.toResponse(category)).thenReturn(moved);
+
+        Optional<CategoryResponse> result = categoryService.update(1L, request);
+
+        assertThat(result).containsSame(moved);
+        assertThat(result.get().getParentId()).isEqualTo(2L);
+        assertThat(category.getParent()).isSameAs(parent);
+        InOrder closure = inOrder(categoryClosureRepository);
+        closure.verify(categoryClosureRepository).detachSubtree(1L);
+        closure.verify(categoryClosureRepository).attachSubtree(1L, 2L);
+    }
+
+    @Test
+    void updateRejectsMoveBelowOwnDescendant() {
+        Category descendant = new Category();
+        descendant.setId(4L);
+
+        CategoryRequest request = new CategoryRequest();
+        request.setName(category.getName());
+        request.setParentId(4L);
+
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.findById(4L)).thenReturn(Optional.of(descendant));
+        when(categoryClosureRepository.existsById(new CategoryClosureId(1L, 4L))).thenReturn(true);
+
+        assertThatThrownBy(() -> categoryService.update(1L, request))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(categoryClosureRepository, never()).detachSubtree(anyLong());
     }
 
     @Test
@@ -171,5 +311,50 @@ class CategoryServiceImplTest {
         categoryService.deleteById(3L);
 
         verify(categoryRepository).deleteById(3L);
+        verify(categoryCatalog).reloadAfterCommit();
+    }
+
+    @Test
+    void deleteRejectsCategoryWithChildren() {
+        when(categoryRepository.existsByParentId(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> categoryService.deleteById(1L))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        verify(categoryRepository, never()).deleteById(anyLong());
+    }
+
+    @Test
+    void findTreeNestsSubtreeRows() {
+        when(categoryClosureRepository.findSubtree(1L)).thenReturn(List.of(
+                new CategoryTreeRow(1L, null, "Electronics", null, 0),
+                new CategoryTreeRow(2L, 1L, "Phones", null, 1),
+                new CategoryTreeRow(3L, 1L, "Laptops", null, 1),
+                new CategoryTreeRow(4L, 2L, "Android", null, 2)));
+
+        CategoryTreeResponse tree = categoryService.findTree(1L).orElseThrow();
+
+        assertThat(tree.getName()).isEqualTo("Electronics");
+        assertThat(tree.getChildren()).extracting(CategoryTreeResponse::getId).containsExactly(2L, 3L);
+        assertThat(tree.getChildren().get(0).getChildren()).extracting(CategoryTreeResponse::getName).containsExactly("Android");
+    }
+
+    @Test
+    void findTreeReturnsEmptyWhenMissing() {
+        when(categoryClosureRepository.findSubtree(9L)).thenReturn(List.of());
+
+        assertThat(categoryService.findTree(9L)).isEmpty();
+    }
+
+    private static CategoryResponse category(Long id, Instant updatedAt) {
+        CategoryResponse category = new CategoryResponse();
+        category.setId(id);
+        category.setUpdatedAt(updatedAt);
+        return category;
+    }
+
+    private static Instant modified(int minute) {
+        return Instant.parse("2026-10-17T10:00:00Z").plusSeconds(60L * minute);
     }
 }
\ No newline at end of file
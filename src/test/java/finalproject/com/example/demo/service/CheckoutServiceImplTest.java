@@ -0,0 +1,190 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.checkout.CheckoutItemRequest;
+import finalproject.com.example.demo.dto.checkout.CheckoutRequest;
+import finalproject.com.example.demo.dto.checkout.CheckoutResponse;
+import finalproject.com.example.demo.entity.Category;
+import finalproject.com.example.demo.entity.Order;
+import finalproject.com.example.demo.entity.OrderItem;
+import finalproject.com.example.demo.entity.Product;
+import finalproject.com.example.demo.entity.User;
+import finalproject.com.example.demo.event.OrderOutbox;
+import finalproject.com.example.demo.mapper.OrderItemMapper;
+import finalproject.com.example.demo.repository.OrderItemRepository;
+import finalproject.com.example.demo.repository.OrderRepository;
+import finalproject.com.example.demo.repository.ProductRepository;
+import finalproject.com.example.demo.search.ProductSuggestIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private OrderItemMapper orderItemMapper;
+
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private StockService stockService;
+
+    @Mock
+    private ProductSuggestIndex productSuggestIndex;
+
+    @Captor
+    private ArgumentCaptor<List<OrderItem>> items;
+
+    @InjectMocks
+    private CheckoutServiceImpl checkoutService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(7L);
+        user.setEmail("buyer@example.com");
+    }
+
+    @Test
+    void checkoutPricesCartOnServerAndSavesItemsTogether() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(productRepository.findAllById(Set.of(1L, 2L)))
+                .thenReturn(List.of(product(1L, "10.00"), product(2L, "2.50")));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(100L);
+            return order;
+        });
+        when(orderItemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CheckoutResponse response = checkoutService.checkout(cart(
+                new CheckoutItemRequest(1L, 2),
+                new CheckoutItemRequest(2L, 1),
+                new CheckoutItemRequest(1L, 1)));
+
+        assertThat(response.getOrderId()).isEqualTo(100L);
+        assertThat(response.getUserId()).isEqualTo(7L);
+        assertThat(response.getStatus()).isEqualTo("PENDING");
+        assertThat(response.getTotalPrice()).isEqualByComparingTo("32.50");
+
+        verify(orderItemRepository).saveAll(items.capture());
+        List<OrderItem> saved = items.getValue();
+        assertThat(saved).extracting(item -> item.getProduct().getId()).containsExactly(1L, 2L);
+        assertThat(saved).extracting(OrderItem::getQuantity).containsExactly(3, 1);
+        assertThat(saved).extracting(OrderItem::getCategoryId).containsExactly(101L, 102L);
+        assertThat(saved).extracting(OrderItem::getPriceAtPurchase)
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("2.50"));
+        assertThat(saved).allSatisfy(item -> assertThat(item.getOrder().getId()).isEqualTo(100L));
+        verify(orderOutbox).orderCreated(any(Order.class));
+        verify(salesRollupService).recordCreated(any(Order.class), eq(saved));
+        verify(stockService).reserve(100L, Map.of(1L, 3, 2L, 1));
+        verify(productSuggestIndex).recordSales(Map.of(1L, 3, 2L, 1));
+    }
+
+    @Test
+    void checkoutFailsWhenStockRunsOut() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(productRepository.findAllById(Set.of(1L))).thenReturn(List.of(product(1L, "10.00")));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderItemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient stock for product 1"))
+                .when(stockService).reserve(any(), any());
+
+        assertThatThrownBy(() -> checkoutService.checkout(cart(new CheckoutItemRequest(1L, 5))))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        verifyNoInteractions(productSuggestIndex);
+    }
+
+    @Test
+    void checkoutRejectsUnknownProducts() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(productRepository.findAllById(Set.of(1L, 9L))).thenReturn(List.of(product(1L, "10.00")));
+
+        assertThatThrownBy(() -> checkoutService.checkout(cart(
+                new CheckoutItemRequest(1L, 1),
+                new CheckoutItemRequest(9L, 1))))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("[9]");
+        verify(orderRepository, never()).save(any());
+        verify(orderItemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void checkoutRejectsEmptyCart() {
+        when(userService.getCurrentUser()).thenReturn(user);
+
+        assertThatThrownBy(() -> checkoutService.checkout(cart()))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void checkoutRequiresAuthenticatedUser() {
+        when(userService.getCurrentUser()).thenReturn(null);
+
+        assertThatThrownBy(() -> checkoutService.checkout(cart(new CheckoutItemRequest(1L, 1))))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private static CheckoutRequest cart(CheckoutItemRequest... lines) {
+        CheckoutRequest request = new CheckoutRequest();
+        request.setItems(List.of(lines));
+        return request;
+    }
+
+    private static Product product(Long id, String price) {
+        Category category = new Category();
+        category.setId(id + 100);
+        Product product = new Product();
+        product.setId(id);
+        product.setPrice(new BigDecimal(price));
+        product.setCategory(category);
+        return product;
+    }
+}
@@ -2,17 +2,20 @@ package finalproject.com.example.demo.service;
 
 import finalproject.com.example.demo.dto.orderitem.OrderItemRequest;
 import finalproject.com.example.demo.dto.orderitem.OrderItemResponse;
+import finalproject.com.example.demo.entity.Category;
 import finalproject.com.example.demo.entity.Order;
 import finalproject.com.example.demo.entity.OrderItem;
 import finalproject.com.example.demo.entity.Product;
 import finalproject.com.example.demo.mapper.OrderItemMapper;
 import finalproject.com.example.demo.repository.OrderItemRepository;
 import finalproject.com.example.demo.repository.OrderRepository;
+import finalproject.com.example.demo.repository.OrderSales;
 import finalproject.com.example.demo.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -23,6 +26,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -41,6 +45,9 @@ class OrderItemServiceImplTest {
     @Mock
     private OrderItemMapper orderItemMapper;
 
+    @Mock
+    private SalesRollupService salesRollupService;
+
     @InjectMocks
     private OrderItemServiceImpl orderItemService;
 
@@ -57,6 +64,9 @@ class OrderItemServiceImplTest {
         product = new Product();
         product.setId(2L);
         product.setName("Phone");
+        Category category = new Category();
+        category.setId(4L);
+        product.setCategory(category);
 
         orderItem = new OrderItem();
         orderItem.setId(3L);
@@ -119,11 +129,13 @@ class OrderItemServiceImplTest {
         savedResponse.setId(saved.getId());
         savedResponse.setQuantity(saved.getQuantity());
 
-        when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+        when(orderRepository.findInPartitionById(order.getId())).thenReturn(Optional.of(order));
         when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
         when(orderItemMapper.toEntity(request)).thenReturn(mapped);
         when(orderItemRepository.save(mapped)).thenReturn(saved);
         when(orderItemMapper.toResponse(saved)).thenReturn(savedResponse);
+        OrderSales before = OrderSales.none(order.getId());
+        when(salesRollupService.capture(order.getId())).thenReturn(before);
 
         OrderItemResponse result = orderItemService.create(request);
 
@@ -133,10 +145,12 @@ class OrderItemServiceImplTest {
         OrderItem persisted = captor.getValue();
         assertThat(persisted.getOrder()).isEqualTo(order);
         assertThat(persisted.getProduct()).isEqualTo(product);
-        verify(orderRepository).findById(order.getId());
+        assertThat(persisted.getCategoryId()).isEqualTo(4L);
+        verify(orderRepository).findInPartitionById(order.getId());
         verify(productRepository).findById(product.getId());
         verify(orderItemMapper).toEntity(request);
         verify(orderItemMapper).toResponse(saved);
+        verify(salesRollupService).recordChange(before);
     }
 
     @Test
@@ -170,7 +184,7 @@ class OrderItemServiceImplTest {
         updatedResponse.setQuantity(updated.getQuantity());
 
         when(orderItemRepository.findById(orderItem.getId())).thenReturn(Optional.of(orderItem));
-        when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+        when(orderRepository.findInPartitionById(order.getId())).thenReturn(Optional.of(order));
         when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
         when(orderItemRepository.save(orderItem)).thenReturn(updated);
         when(orderItemMapper.toResponse(updated)).thenReturn(updatedResponse);
@@ -184,6 +198,38 @@ class OrderItemServiceImplTest {
         verify(orderItemMapper).toResponse(updated);
     }
 
+    @Test
+    void updateMovingItemCapturesBothOrdersInIdOrder() {
+        Order previous = new Order();
+        previous.setId(8L);
+        orderItem.setOrder(previous);
+
+        OrderItemRequest request = new OrderItemRequest();
+        request.setOrderId(order.getId());
+        request.setProductId(product.getId());
+        request.setQuantity(2);
+        request.setPriceAtPurchase(BigDecimal.valueOf(100));
+
+        OrderSales targetBefore = OrderSales.none(order.getId());
+        OrderSales previousBefore = OrderSales.none(previous.getId());
+        when(orderItemRepository.findById(orderItem.getId())).thenReturn(Optional.of(orderItem));
+        when(orderRepository.findInPartitionById(order.getId())).thenReturn(Optional.of(order));
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(salesRollupService.capture(order.getId())).thenReturn(targetBefore);
+        when(salesRollupService.capture(previous.getId())).thenReturn(previousBefore);
+        when(orderItemRepository.save(orderItem)).thenReturn(orderItem);
+        when(orderItemMapper.toResponse(orderItem)).thenReturn(response);
+
+        orderItemService.update(orderItem.getId(), request);
+
+        InOrder captures = inOrder(salesRollupService);
+        captures.verify(salesRollupService).capture(order.getId());
+        captures.verify(salesRollupService).capture(previous.getId());
+        verify(salesRollupService).recordChange(targetBefore);
+        verify(salesRollupService).recordChange(previousBefore);
+        assertThat(orderItem.getOrder()).isEqualTo(order);
+    }
+
     @Test
     void deleteDelegatesToRepository() {
         orderItemService.deleteById(6L);
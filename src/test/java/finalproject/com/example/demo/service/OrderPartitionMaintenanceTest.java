@@ -0,0 +1,50 @@
+package finalproject.com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPartitionMaintenanceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createsCurrentAndUpcomingMonths() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        when(jdbcTemplate.queryForObject("SELECT create_order_partitions(?, ?)", Integer.class, currentMonth, 4))
+                .thenReturn(1);
+
+        new OrderPartitionMaintenance(jdbcTemplate, 3, 0).maintain();
+
+        verify(jdbcTemplate).queryForObject("SELECT create_order_partitions(?, ?)", Integer.class, currentMonth, 4);
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), any(Object[].class));
+    }
+
+    @Test
+    void detachesMonthsOutsideRetention() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate cutoff = currentMonth.minusMonths(24);
+        when(jdbcTemplate.queryForObject("SELECT create_order_partitions(?, ?)", Integer.class, currentMonth, 4))
+                .thenReturn(0);
+        when(jdbcTemplate.queryForList("SELECT detach_order_partitions(?)", String.class, cutoff))
+                .thenReturn(List.of("t_orders_p2023_01"));
+
+        new OrderPartitionMaintenance(jdbcTemplate, 3, 24).maintain();
+
+        verify(jdbcTemplate).queryForList("SELECT detach_order_partitions(?)", String.class, cutoff);
+    }
+}
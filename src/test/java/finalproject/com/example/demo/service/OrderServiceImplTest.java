@@ -1,28 +1,47 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.dto.order.OrderDetailResponse;
+import finalproject.com.example.demo.dto.order.OrderFilter;
 import finalproject.com.example.demo.dto.order.OrderRequest;
 import finalproject.com.example.demo.dto.order.OrderResponse;
+import finalproject.com.example.demo.dto.order.OrderStatusRequest;
+import finalproject.com.example.demo.dto.order.OrderStatusResponse;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
 import finalproject.com.example.demo.entity.Order;
 import finalproject.com.example.demo.entity.User;
+import finalproject.com.example.demo.event.OrderOutbox;
 import finalproject.com.example.demo.mapper.OrderMapper;
 import finalproject.com.example.demo.repository.OrderRepository;
+import finalproject.com.example.demo.repository.OrderSales;
 import finalproject.com.example.demo.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +56,18 @@ class OrderServiceImplTest {
     @Mock
     private OrderMapper orderMapper;
 
-    @InjectMocks
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private StockService stockService;
+
+    @Captor
+    private ArgumentCaptor<Collection<String>> sources;
+
     private OrderServiceImpl orderService;
 
     private User user;
@@ -46,6 +76,9 @@ class OrderServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        orderService = new OrderServiceImpl(orderRepository, userRepository, orderMapper, orderOutbox,
+                salesRollupService, stockService, 3);
+
         user = new User();
         user.setId(1L);
         user.setEmail("buyer@example.com");
@@ -54,12 +87,13 @@ class OrderServiceImplTest {
         order.setId(2L);
         order.setUser(user);
         order.setTotalPrice(BigDecimal.TEN);
-        order.setStatus("NEW");
+        order.setStatus("PENDING");
         order.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
 
         response = new OrderResponse();
         response.setId(order.getId());
         response.setStatus(order.getStatus());
+        response.setCreatedAt(order.getCreatedAt());
     }
 
     @Test
@@ -74,34 +108,221 @@ class OrderServiceImplTest {
         verify(orderMapper).toResponse(List.of(order));
     }
 
+    @Test
+    void findPagePassesLimitPlusOneAndCursorsByCreatedAtAndId() {
+        OrderResponse second = new OrderResponse(3L, 1L, "NEW", BigDecimal.TEN, LocalDateTime.of(2026, 10, 17, 9, 30), 0L);
+        when(orderRepository.findResponses(any(), any(Sort.class), eq(2))).thenReturn(List.of(response, second));
+
+        OrderFilter filter = new OrderFilter();
+        filter.setUserId(1L);
+        CursorPage<OrderResponse> page = orderService.findPage(filter, KeysetRequest.of(null, 1, "newest"));
+
+        assertThat(page.getItems()).containsExactly(response);
+        assertThat(page.getNext()).isEqualTo(KeysetRequest.encodeCursor(response.getCreatedAt(), response.getId()));
+
+        ArgumentCaptor<Sort> captor = ArgumentCaptor.forClass(Sort.class);
+        verify(orderRepository).findResponses(any(), captor.capture(), eq(2));
+        assertThat(captor.getValue()).containsExactly(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        verifyNoInteractions(orderMapper);
+    }
+
+    @Test
+    void findHistoryPageStopsAtRecentMonthsWhenTheyFillThePage() {
+        OrderResponse second = new OrderResponse(3L, 1L, "NEW", BigDecimal.TEN, LocalDateTime.of(2024, 1, 1, 9, 30), 0L);
+        when(orderRepository.findResponses(any(), any(Sort.class), eq(2))).thenReturn(List.of(response, second));
+
+        OrderFilter filter = new OrderFilter();
+        filter.setUserId(1L);
+        CursorPage<OrderResponse> page = orderService.findHistoryPage(filter, KeysetRequest.of(null, 1, "newest"));
+
+        assertThat(page.getItems()).containsExactly(response);
+        assertThat(page.getNext()).isNotNull();
+        verify(orderRepository).findResponses(any(), any(Sort.class), eq(2));
+        verifyNoMoreInteractions(orderRepository);
+    }
+
+    @Test
+    void findHistoryPageReadsOlderMonthsOnlyForTheMissingRows() {
+        OrderResponse older = new OrderResponse(3L, 1L, "PAID", BigDecimal.TEN, LocalDateTime.of(2023, 6, 1, 9, 30), 0L);
+        OrderResponse oldest = new OrderResponse(4L, 1L, "PAID", BigDecimal.TEN, LocalDateTime.of(2022, 6, 1, 9, 30), 0L);
+        when(orderRepository.findResponses(any(), any(Sort.class), eq(3))).thenReturn(List.of(response));
+        when(orderRepository.findResponses(any(), any(Sort.class), eq(2))).thenReturn(List.of(older, oldest));
+
+        OrderFilter filter = new OrderFilter();
+        filter.setUserId(1L);
+        CursorPage<OrderResponse> page = orderService.findHistoryPage(filter, KeysetRequest.of(null, 2, "newest"));
+
+        assertThat(page.getItems()).containsExactly(response, older);
+        assertThat(page.getNext()).isEqualTo(KeysetRequest.encodeCursor(older.getCreatedAt(), older.getId()));
+    }
+
+    @Test
+    void findHistoryPageWithDateRangeReadsItOnce() {
+        when(orderRepository.findResponses(any(), any(Sort.class), eq(11))).thenReturn(List.of(response));
+
+        OrderFilter filter = new OrderFilter();
+        filter.setUserId(1L);
+        filter.setFrom(LocalDateTime.of(2020, 1, 1, 0, 0));
+        CursorPage<OrderResponse> page = orderService.findHistoryPage(filter, KeysetRequest.of(null, 10, "newest"));
+
+        assertThat(page.getItems()).containsExactly(response);
+        assertThat(page.getNext()).isNull();
+        verify(orderRepository).findResponses(any(), any(Sort.class), eq(11));
+        verifyNoMoreInteractions(orderRepository);
+    }
+
+    @Test
+    void findHistoryPageRejectsMalformedCursor() {
+        String cursor = KeysetRequest.encodeCursor(10L);
+
+        assertThatThrownBy(() -> orderService.findHistoryPage(new OrderFilter(), KeysetRequest.of(cursor, 10, "newest")))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Invalid cursor");
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void findPageRejectsEmptyDateRange() {
+        OrderFilter filter = new OrderFilter();
+        filter.setFrom(LocalDateTime.of(2026, 10, 17, 0, 0));
+        filter.setTo(LocalDateTime.of(2026, 10, 16, 0, 0));
+
+        assertThatThrownBy(() -> orderService.findPage(filter, KeysetRequest.of(null, 10, null)))
+                .isInstanceOf(ResponseStatusException.class);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void findPageRejectsMalformedCursor() {
+        String cursor = KeysetRequest.encodeCursor(10L);
+
+        assertThatThrownBy(() -> orderService.findPage(new OrderFilter(), KeysetRequest.of(cursor, 10, "-createdAt")))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
     @Test
     void findByIdReturnsMappedOrderWhenPresent() {
-        when(orderRepository.findById(2L)).thenReturn(Optional.of(order));
+        when(orderRepository.findInPartitionById(2L)).thenReturn(Optional.of(order));
         when(orderMapper.toResponse(order)).thenReturn(response);
 
         Optional<OrderResponse> result = orderService.findById(2L);
 
         assertTrue(result.isPresent());
-        assertThat(result.get().getStatus()).isEqualTo("NEW");
-        verify(orderRepository).findById(2L);
+        assertThat(result.get().getStatus()).isEqualTo("PENDING");
+        verify(orderRepository).findInPartitionById(2L);
         verify(orderMapper).toResponse(order);
     }
 
+    @Test
+    void findDetailByIdUsesFetchJoinQuery() {
+        OrderDetailResponse detail = new OrderDetailResponse();
+        detail.setId(2L);
+        when(orderRepository.findDetailById(2L)).thenReturn(Optional.of(order));
+        when(orderMapper.toDetailResponse(order)).thenReturn(detail);
+
+        Optional<OrderDetailResponse> result = orderService.findDetailById(2L);
+
+        assertThat(result).containsSame(detail);
+        verify(orderRepository, never()).findInPartitionById(any());
+    }
+
+    @Test
+    void findDetailByIdReturnsEmptyWhenMissing() {
+        when(orderRepository.findDetailById(9L)).thenReturn(Optional.empty());
+
+        assertThat(orderService.findDetailById(9L)).isEmpty();
+        verifyNoInteractions(orderMapper);
+    }
+
+    @Test
+    void changeStatusAppliesCompareAndSetUpdate() {
+        OrderSales before = new OrderSales(2L, LocalDate.of(2026, 10, 1), "PAID", List.of());
+        when(salesRollupService.capture(2L)).thenReturn(before);
+        when(orderRepository.transitionStatus(eq(2L), eq(4L), any(), eq("SHIPPED"))).thenReturn(1);
+
+        Optional<OrderStatusResponse> result = orderService.changeStatus(2L, statusRequest("shipped", 4L));
+
+        assertThat(result).hasValueSatisfying(changed -> {
+            assertThat(changed.getStatus()).isEqualTo("SHIPPED");
+            assertThat(changed.getVersion()).isEqualTo(5L);
+        });
+        verify(orderRepository).transitionStatus(eq(2L), eq(4L), sources.capture(), eq("SHIPPED"));
+        assertThat(sources.getValue()).containsExactlyInAnyOrder("PAID", "PROCESSING");
+        verify(orderRepository, never()).findInPartitionById(any());
+        verify(orderOutbox).statusChanged(2L, "SHIPPED", 5L);
+        verify(salesRollupService).recordStatusChange(before, "SHIPPED");
+        verifyNoInteractions(stockService);
+    }
+
+    @Test
+    void changeStatusToCancelledReleasesStock() {
+        OrderSales before = new OrderSales(2L, LocalDate.of(2026, 10, 1), "PENDING", List.of());
+        when(salesRollupService.capture(2L)).thenReturn(before);
+        when(orderRepository.transitionStatus(eq(2L), eq(4L), any(), eq("CANCELLED"))).thenReturn(1);
+
+        assertThat(orderService.changeStatus(2L, statusRequest("cancelled", 4L))).isPresent();
+
+        verify(salesRollupService).recordStatusChange(before, "CANCELLED");
+        verify(stockService).release(2L);
+    }
+
+    @Test
+    void changeStatusReportsStaleVersionAsConflict() {
+        order.setStatus("PAID");
+        order.setVersion(6L);
+        when(orderRepository.transitionStatus(eq(2L), eq(4L), any(), eq("SHIPPED"))).thenReturn(0);
+        when(orderRepository.findInPartitionById(2L)).thenReturn(Optional.of(order));
+
+        assertThatThrownBy(() -> orderService.changeStatus(2L, statusRequest("SHIPPED", 4L)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("modified concurrently")
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void changeStatusRejectsMoveOutsideLifecycle() {
+        order.setStatus("DELIVERED");
+        order.setVersion(4L);
+        when(orderRepository.transitionStatus(eq(2L), eq(4L), any(), eq("PAID"))).thenReturn(0);
+        when(orderRepository.findInPartitionById(2L)).thenReturn(Optional.of(order));
+
+        assertThatThrownBy(() -> orderService.changeStatus(2L, statusRequest("PAID", 4L)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("from DELIVERED to PAID");
+    }
+
+    @Test
+    void changeStatusReturnsEmptyWhenOrderMissing() {
+        when(orderRepository.transitionStatus(eq(9L), eq(0L), any(), eq("PAID"))).thenReturn(0);
+        when(orderRepository.findInPartitionById(9L)).thenReturn(Optional.empty());
+
+        assertThat(orderService.changeStatus(9L, statusRequest("PAID", 0L))).isEmpty();
+    }
+
+    @Test
+    void changeStatusRejectsUnknownStatus() {
+        assertThatThrownBy(() -> orderService.changeStatus(2L, statusRequest("LOST", 1L)))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(orderRepository);
+    }
+
     @Test
     void createSetsDefaultsAndPersistsOrder() {
         OrderRequest request = new OrderRequest();
         request.setUserId(user.getId());
-        request.setStatus("NEW");
         request.setTotalPrice(BigDecimal.valueOf(50));
 
         Order mapped = new Order();
-        mapped.setStatus(request.getStatus());
         mapped.setTotalPrice(request.getTotalPrice());
 
         Order saved = new Order();
         saved.setId(5L);
         saved.setUser(user);
-        saved.setStatus(request.getStatus());
+        saved.setStatus("PENDING");
         saved.setTotalPrice(request.getTotalPrice());
         saved.setCreatedAt(LocalDateTime.of(2024, 2, 2, 10, 0));
 
@@ -121,9 +342,26 @@ class OrderServiceImplTest {
         verify(orderRepository).save(captor.capture());
         Order persisted = captor.getValue();
         assertThat(persisted.getUser()).isEqualTo(user);
+        assertThat(persisted.getStatus()).isEqualTo("PENDING");
         assertThat(persisted.getCreatedAt()).isNotNull();
         verify(orderMapper).toEntity(request);
         verify(orderMapper).toResponse(saved);
+        verify(orderOutbox).orderCreated(saved);
+        verify(salesRollupService).recordCreated(saved, List.of());
+    }
+
+    @Test
+    void createRejectsUnknownStatus() {
+        OrderRequest request = new OrderRequest();
+        request.setUserId(user.getId());
+        request.setStatus("FOO");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> orderService.create(request))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(orderRepository, orderOutbox, salesRollupService);
     }
 
     @Test
@@ -131,7 +369,7 @@ class OrderServiceImplTest {
         OrderRequest request = new OrderRequest();
         request.setUserId(user.getId());
 
-        when(orderRepository.findById(100L)).thenReturn(Optional.empty());
+        when(orderRepository.findInPartitionById(100L)).thenReturn(Optional.empty());
 
         assertThat(orderService.update(100L, request)).isEmpty();
     }
@@ -155,25 +393,71 @@ class OrderServiceImplTest {
         updatedResponse.setId(updated.getId());
         updatedResponse.setStatus(updated.getStatus());
 
-        when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+        when(orderRepository.findInPartitionById(order.getId())).thenReturn(Optional.of(order));
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(orderRepository.save(order)).thenReturn(updated);
+        when(orderRepository.saveAndFlush(order)).thenReturn(updated);
         when(orderMapper.toResponse(updated)).thenReturn(updatedResponse);
 
         Optional<OrderResponse> result = orderService.update(order.getId(), request);
 
         assertTrue(result.isPresent());
         assertThat(order.getStatus()).isEqualTo("PAID");
-        assertThat(order.getCreatedAt()).isEqualTo(request.getCreatedAt());
-        verify(orderRepository).findById(order.getId());
-        verify(orderRepository).save(order);
+        assertThat(order.getCreatedAt()).isEqualTo(LocalDateTime.of(2024, 1, 1, 12, 0));
+        verify(orderRepository).findInPartitionById(order.getId());
+        verify(orderRepository).saveAndFlush(order);
         verify(orderMapper).toResponse(updated);
     }
 
     @Test
-    void deleteDelegatesToRepository() {
+    void updateRejectsMoveOutsideLifecycle() {
+        order.setStatus("CANCELLED");
+        OrderRequest request = new OrderRequest();
+        request.setUserId(user.getId());
+        request.setStatus("PAID");
+        request.setTotalPrice(BigDecimal.TEN);
+
+        when(orderRepository.findInPartitionById(order.getId())).thenReturn(Optional.of(order));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> orderService.update(order.getId(), request))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("from CANCELLED to PAID")
+                .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        assertThat(order.getStatus()).isEqualTo("CANCELLED");
+        verify(orderRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void deleteRemovesOrderFoundInItsPartition() {
+        OrderSales before = new OrderSales(2L, LocalDate.of(2024, 1, 1), "PENDING", List.of());
+        when(salesRollupService.capture(2L)).thenReturn(before);
+        when(orderRepository.findInPartitionById(2L)).thenReturn(Optional.of(order));
+
+        orderService.deleteById(2L);
+
+        verify(orderRepository).delete(order);
+        verify(orderRepository, never()).deleteById(any());
+        verify(salesRollupService).recordChange(before);
+        verify(stockService).release(2L);
+    }
+
+    @Test
+    void deleteOfMissingOrderDeletesNothing() {
+        OrderSales before = OrderSales.none(9L);
+        when(salesRollupService.capture(9L)).thenReturn(before);
+        when(orderRepository.findInPartitionById(9L)).thenReturn(Optional.empty());
+
         orderService.deleteById(9L);
 
-        verify(orderRepository).deleteById(9L);
+        verify(orderRepository, never()).delete(any());
+        verify(salesRollupService).recordChange(before);
+    }
+
+    private static OrderStatusRequest statusRequest(String status, Long version) {
+        OrderStatusRequest request = new OrderStatusRequest();
+        request.setStatus(status);
+        request.setVersion(version);
+        return request;
     }
-}
\ No newline at end of file
+}
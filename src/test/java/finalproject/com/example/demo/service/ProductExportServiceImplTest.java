@@ -0,0 +1,105 @@
+package finalproject.com.example.demo.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import finalproject.com.example.demo.dto.product.ProductFileFormat;
+import finalproject.com.example.demo.entity.Category;
+import finalproject.com.example.demo.entity.Product;
+import finalproject.com.example.demo.mapper.ProductMapper;
+import finalproject.com.example.demo.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Spy
+    private ProductMapper productMapper = ProductMapper.INSTANCE;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ProductExportServiceImpl exportService;
+
+    @Test
+    void writesOneJsonObjectPerLineAndClosesTheCursor() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(productRepository.streamAll()).thenReturn(Stream.of(product(1L, "Laptop"), product(2L, "Mouse"))
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported = exportService.exportProducts(output, ProductFileFormat.NDJSON);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("name").asText()).isEqualTo("Laptop");
+        assertThat(first.get("categoryId").asLong()).isEqualTo(3L);
+        assertThat(closed).isTrue();
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void writesCsvWithHeaderAndQuotedFields() throws IOException {
+        when(productRepository.streamAll()).thenReturn(Stream.of(product(1L, "Desk, \"oak\"")));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exportService.exportProducts(output, ProductFileFormat.CSV);
+
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                ProductExportServiceImpl.CSV_HEADER + "\n"
+                        + "1,\"Desk, \"\"oak\"\"\",Description,9.50,3,,ACTIVE\n");
+    }
+
+    @Test
+    void clearsPersistenceContextBetweenChunks() throws IOException {
+        int rows = ProductExportServiceImpl.FLUSH_EVERY * 2 + 1;
+        when(productRepository.streamAll()).thenReturn(LongStream.rangeClosed(1, rows).mapToObj(id -> product(id, "P" + id)));
+
+        long exported = exportService.exportProducts(new ByteArrayOutputStream(), ProductFileFormat.NDJSON);
+
+        assertThat(exported).isEqualTo(rows);
+        verify(entityManager, times(2)).clear();
+    }
+
+    private static Product product(Long id, String name) {
+        Category category = new Category();
+        category.setId(3L);
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setDescription("Description");
+        product.setPrice(new BigDecimal("9.50"));
+        product.setCategory(category);
+        product.setStatus("ACTIVE");
+        return product;
+    }
+}
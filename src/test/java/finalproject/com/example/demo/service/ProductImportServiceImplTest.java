@@ -0,0 +1,164 @@
+package finalproject.com.example.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import finalproject.com.example.demo.dto.product.ProductFileFormat;
+import finalproject.com.example.demo.dto.product.ProductImportReport;
+import finalproject.com.example.demo.entity.Product;
+import finalproject.com.example.demo.mapper.ProductMapper;
+import finalproject.com.example.demo.repository.CategoryRepository;
+import finalproject.com.example.demo.repository.ProductRepository;
+import finalproject.com.example.demo.repository.UserRepository;
+import finalproject.com.example.demo.search.ProductSearchIndex;
+import finalproject.com.example.demo.search.ProductSuggestIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private ProductMapper productMapper = ProductMapper.INSTANCE;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductSuggestIndex productSuggestIndex;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Captor
+    private ArgumentCaptor<Collection<Product>> batch;
+
+    @InjectMocks
+    private ProductImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(categoryRepository.findAllIds()).thenReturn(Set.of(1L));
+        lenient().when(userRepository.findAllIds()).thenReturn(Set.of(2L));
+        lenient().when(productRepository.findMaxId()).thenReturn(40L);
+    }
+
+    @Test
+    void importsValidNdjsonRowsAndReportsInvalidOnes() throws IOException {
+        runTransactionCallbacks();
+        String body = """
+                {"name":"Lamp","price":12.5,"categoryId":1,"sellerId":2,"status":"ACTIVE"}
+                {"name":"Ghost","price":1,"categoryId":99,"sellerId":2,"status":"ACTIVE"}
+                not json
+                """;
+
+        ProductImportReport report = importService.importProducts(stream(body), ProductFileFormat.NDJSON);
+
+        assertThat(report.getReceived()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting("line").containsExactly(2L, 3L);
+        assertThat(report.getErrors().get(0).getMessage()).isEqualTo("Category not found");
+        verify(productSearchIndex).indexAfter(40L);
+        verify(productSuggestIndex).indexAfter(40L);
+    }
+
+    @Test
+    void parsesQuotedCsvFieldsByHeaderName() throws IOException {
+        runTransactionCallbacks();
+        String body = """
+                status,name,description,price,categoryId,sellerId
+                ACTIVE,"Desk, oak","He said ""solid""\",99.00,1,2
+                """;
+
+        ProductImportReport report = importService.importProducts(stream(body), ProductFileFormat.CSV);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), anyInt(), any());
+        Product product = batch.getValue().iterator().next();
+        assertThat(product.getId()).isEqualTo(1_000L);
+        assertThat(product.getName()).isEqualTo("Desk, oak");
+        assertThat(product.getDescription()).isEqualTo("He said \"solid\"");
+        assertThat(product.getPrice()).isEqualByComparingTo(new BigDecimal("99.00"));
+        assertThat(product.getCategory().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void skipsIndexingWhenNothingWasImported() throws IOException {
+        String body = "{\"name\":\"\",\"price\":1,\"categoryId\":1,\"sellerId\":2,\"status\":\"ACTIVE\"}\n";
+
+        ProductImportReport report = importService.importProducts(stream(body), ProductFileFormat.NDJSON);
+
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getMessage()).isEqualTo("Name is required");
+        verify(productSearchIndex, never()).indexAfter(any());
+    }
+
+    @Test
+    void splitsCsvRecordsWithQuotes() {
+        assertThat(ProductImportServiceImpl.parseCsvLine("a,\"b,c\",,\"d\"\"e\""))
+                .containsExactly("a", "b,c", "", "d\"e");
+    }
+
+    private void runTransactionCallbacks() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyInt()))
+                .thenAnswer(invocation -> {
+                    int blocks = invocation.getArgument(2);
+                    return LongStream.range(0, blocks).mapToObj(block -> 1_000 + block * 50).toList();
+                });
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,115 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.review.ProductRatingResponse;
+import finalproject.com.example.demo.dto.review.RatingRebuildReport;
+import finalproject.com.example.demo.entity.ProductRatingSummary;
+import finalproject.com.example.demo.repository.ProductRatingSummaryRepository;
+import finalproject.com.example.demo.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductRatingServiceImplTest {
+
+    @Mock
+    private ProductRatingSummaryRepository summaryRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ProductRatingServiceImpl ratingService;
+
+    @BeforeEach
+    void setUp() {
+        ratingService = new ProductRatingServiceImpl(summaryRepository, productRepository, transactionTemplate, 2);
+    }
+
+    @Test
+    void findByProductIdReturnsAverageAndHistogram() {
+        ProductRatingSummary summary = new ProductRatingSummary();
+        summary.setProductId(7L);
+        summary.setReviewCount(3);
+        summary.setRatingSum(11);
+        summary.setStars3(1);
+        summary.setStars4(1);
+        summary.setStars5(1);
+        when(summaryRepository.findById(7L)).thenReturn(Optional.of(summary));
+
+        ProductRatingResponse rating = ratingService.findByProductId(7L).orElseThrow();
+
+        assertThat(rating.getReviewCount()).isEqualTo(3);
+        assertThat(rating.getAverage()).isEqualTo(new BigDecimal("3.67"));
+        assertThat(rating.getHistogram()).containsExactly(
+                entry(1, 0L), entry(2, 0L), entry(3, 1L), entry(4, 1L), entry(5, 1L));
+    }
+
+    @Test
+    void findByProductIdReturnsEmptySummaryForUnreviewedProduct() {
+        when(summaryRepository.findById(8L)).thenReturn(Optional.empty());
+        when(productRepository.existsById(8L)).thenReturn(true);
+
+        ProductRatingResponse rating = ratingService.findByProductId(8L).orElseThrow();
+
+        assertThat(rating.getReviewCount()).isZero();
+        assertThat(rating.getAverage()).isNull();
+    }
+
+    @Test
+    void findByProductIdReturnsEmptyForUnknownProduct() {
+        when(summaryRepository.findById(9L)).thenReturn(Optional.empty());
+        when(productRepository.existsById(9L)).thenReturn(false);
+
+        assertThat(ratingService.findByProductId(9L)).isEmpty();
+    }
+
+    @Test
+    void recordAndRemoveApplyUnitDeltas() {
+        ratingService.recordReview(7L, 4);
+        ratingService.removeReview(7L, 2);
+
+        verify(summaryRepository).applyDelta(7L, 4, 1);
+        verify(summaryRepository).applyDelta(7L, 2, -1);
+    }
+
+    @Test
+    void rebuildRecomputesEveryIdRangeInItsOwnTransaction() {
+        when(productRepository.findMaxId()).thenReturn((long) ProductRatingServiceImpl.REBUILD_CHUNK_SIZE * 2 + 1);
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        when(summaryRepository.recomputeRange(anyLong(), anyLong())).thenReturn(10);
+        when(summaryRepository.deleteWithoutReviews(anyLong(), anyLong())).thenReturn(1);
+
+        RatingRebuildReport report = ratingService.rebuild();
+
+        assertThat(report.getChunks()).isEqualTo(3);
+        assertThat(report.getSummariesWritten()).isEqualTo(30);
+        assertThat(report.getSummariesDeleted()).isEqualTo(3);
+        long chunk = ProductRatingServiceImpl.REBUILD_CHUNK_SIZE;
+        verify(summaryRepository).lockProducts(1L, chunk);
+        verify(summaryRepository).lockSummaries(chunk + 1, chunk * 2);
+        verify(summaryRepository).recomputeRange(chunk * 2 + 1, chunk * 2 + 1);
+    }
+
+    private static Map.Entry<Integer, Long> entry(int stars, long count) {
+        return Map.entry(stars, count);
+    }
+}
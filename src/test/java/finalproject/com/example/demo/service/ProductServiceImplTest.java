@@ -1,5 +1,9 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.cache.ProductCache;
+import finalproject.com.example.demo.dto.page.CursorPage;
+import finalproject.com.example.demo.dto.page.KeysetRequest;
+import finalproject.com.example.demo.dto.product.ProductFilter;
 import finalproject.com.example.demo.dto.product.ProductRequest;
 import finalproject.com.example.demo.dto.product.ProductResponse;
 import finalproject.com.example.demo.entity.Category;
@@ -9,22 +13,32 @@ import finalproject.com.example.demo.mapper.ProductMapper;
 import finalproject.com.example.demo.repository.CategoryRepository;
 import finalproject.com.example.demo.repository.ProductRepository;
 import finalproject.com.example.demo.repository.UserRepository;
+import finalproject.com.example.demo.search.ProductSearchIndex;
+import finalproject.com.example.demo.search.ProductSuggestIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +56,15 @@ class ProductServiceImplTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductSuggestIndex productSuggestIndex;
+
+    @Spy
+    private ProductCache productCache = new ProductCache(100, Duration.ofMinutes(1));
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -85,6 +108,36 @@ class ProductServiceImplTest {
         verify(productMapper).toResponse(List.of(product));
     }
 
+    @Test
+    void findPageFetchesOneExtraRowAndReturnsPriceCursor() {
+        response.setPrice(BigDecimal.TEN);
+        ProductResponse second = new ProductResponse();
+        second.setId(2L);
+        second.setPrice(BigDecimal.valueOf(20));
+
+        ProductFilter filter = new ProductFilter();
+        filter.setCategoryId(category.getId());
+
+        when(productRepository.findResponses(any(), any(Sort.class), eq(2))).thenReturn(List.of(response, second));
+
+        CursorPage<ProductResponse> page = productService.findPage(filter, KeysetRequest.of(null, 1, "price"));
+
+        assertThat(page.getItems()).containsExactly(response);
+        assertThat(page.getNext()).isEqualTo(KeysetRequest.encodeCursor("10", 1L));
+        assertThat(KeysetRequest.of(page.getNext(), 1, "price").getAfterId()).isEqualTo(1L);
+        verifyNoInteractions(productMapper);
+    }
+
+    @Test
+    void findPageRejectsInvertedPriceRange() {
+        ProductFilter filter = new ProductFilter();
+        filter.setMinPrice(BigDecimal.TEN);
+        filter.setMaxPrice(BigDecimal.ONE);
+
+        assertThrows(ResponseStatusException.class,
+                () -> productService.findPage(filter, KeysetRequest.of(null, null, null)));
+    }
+
     @Test
     void findByIdReturnsMappedProductWhenPresent() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
@@ -98,6 +151,35 @@ class ProductServiceImplTest {
         verify(productMapper).toResponse(product);
     }
 
+    @Test
+    void findByIdServesRepeatedReadsFromCache() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productMapper.toResponse(product)).thenReturn(response);
+
+        productService.findById(1L);
+        Optional<ProductResponse> result = productService.findById(1L);
+
+        assertThat(result).contains(response);
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void searchReturnsProductsInRankOrder() {
+        Product second = new Product();
+        second.setId(2L);
+        ProductResponse secondResponse = new ProductResponse();
+        secondResponse.setId(2L);
+
+        when(productSearchIndex.search("phone", 10)).thenReturn(List.of(2L, 1L));
+        when(productRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(product, second));
+        when(productMapper.toResponse(product)).thenReturn(response);
+        when(productMapper.toResponse(second)).thenReturn(secondResponse);
+
+        List<ProductResponse> results = productService.search("phone", 10);
+
+        assertThat(results).containsExactly(secondResponse, response);
+    }
+
     @Test
     void createResolvesRelationsAndPersistsProduct() {
         ProductRequest request = new ProductRequest();
@@ -146,6 +228,8 @@ class ProductServiceImplTest {
         verify(userRepository).findById(seller.getId());
         verify(productMapper).toEntity(request);
         verify(productMapper).toResponse(saved);
+        verify(productSearchIndex).index(saved);
+        verify(productSuggestIndex).index(saved);
     }
 
     @Test
@@ -204,6 +288,7 @@ class ProductServiceImplTest {
         assertTrue(result.isPresent());
         assertThat(product.getStatus()).isEqualTo("SOLD");
         assertThat(product.getName()).isEqualTo("Updated");
+        verify(productCache).invalidate(product.getId());
         verify(productRepository).findById(product.getId());
         verify(productRepository).save(product);
         verify(productMapper).toResponse(updated);
@@ -214,5 +299,8 @@ class ProductServiceImplTest {
         productService.deleteById(4L);
 
         verify(productRepository).deleteById(4L);
+        verify(productSearchIndex).remove(4L);
+        verify(productSuggestIndex).remove(4L);
+        verify(productCache).invalidate(4L);
     }
 }
\ No newline at end of file
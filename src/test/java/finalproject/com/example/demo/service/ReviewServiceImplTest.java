@@ -16,13 +16,18 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +45,9 @@ class ReviewServiceImplTest {
     @Mock
     private ReviewMapper reviewMapper;
 
+    @Mock
+    private ProductRatingService productRatingService;
+
     @InjectMocks
     private ReviewServiceImpl reviewService;
 
@@ -133,6 +141,19 @@ class ReviewServiceImplTest {
         assertThat(persisted.getProduct()).isEqualTo(product);
         verify(reviewMapper).toEntity(request);
         verify(reviewMapper).toResponse(saved);
+        verify(productRatingService).recordReview(product.getId(), 4);
+    }
+
+    @Test
+    void createRejectsRatingOutsideOneToFive() {
+        ReviewRequest request = new ReviewRequest();
+        request.setUserId(user.getId());
+        request.setProductId(product.getId());
+        request.setRating(6);
+
+        assertThrows(ResponseStatusException.class, () -> reviewService.create(request));
+        verify(reviewRepository, never()).save(any());
+        verifyNoInteractions(productRatingService);
     }
 
     @Test
@@ -178,12 +199,27 @@ class ReviewServiceImplTest {
         assertThat(review.getComment()).isEqualTo("Ok");
         verify(reviewRepository).save(review);
         verify(reviewMapper).toResponse(updated);
+        verify(productRatingService).removeReview(product.getId(), 5);
+        verify(productRatingService).recordReview(product.getId(), 3);
+    }
+
+    @Test
+    void deleteRemovesReviewAndItsRating() {
+        when(reviewRepository.findById(3L)).thenReturn(Optional.of(review));
+
+        reviewService.deleteById(3L);
+
+        verify(reviewRepository).delete(review);
+        verify(productRatingService).removeReview(product.getId(), 5);
     }
 
     @Test
-    void deleteDelegatesToRepository() {
+    void deleteIgnoresMissingReview() {
+        when(reviewRepository.findById(11L)).thenReturn(Optional.empty());
+
         reviewService.deleteById(11L);
 
-        verify(reviewRepository).deleteById(11L);
+        verify(reviewRepository, never()).delete(any());
+        verifyNoInteractions(productRatingService);
     }
 }
\ No newline at end of file
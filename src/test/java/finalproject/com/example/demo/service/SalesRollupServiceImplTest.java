@@ -0,0 +1,246 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.report.SalesRebuildReport;
+import finalproject.com.example.demo.entity.Category;
+import finalproject.com.example.demo.entity.Order;
+import finalproject.com.example.demo.entity.OrderItem;
+import finalproject.com.example.demo.entity.Product;
+import finalproject.com.example.demo.repository.OrderSales;
+import finalproject.com.example.demo.repository.SalesGrouping;
+import finalproject.com.example.demo.repository.SalesRollupRepository;
+import finalproject.com.example.demo.repository.SalesTotals;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 17);
+
+    @Mock
+    private SalesRollupRepository rollupRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<String>> statuses;
+
+    @Captor
+    private ArgumentCaptor<List<SalesTotals>> totals;
+
+    private SalesRollupServiceImpl salesRollupService;
+
+    @BeforeEach
+    void setUp() {
+        salesRollupService = new SalesRollupServiceImpl(rollupRepository, entityManager, transactionTemplate, 2);
+    }
+
+    @Test
+    void newOrderCountsOncePerDayCategoryAndProduct() {
+        OrderSales after = new OrderSales(1L, DAY, "PENDING", List.of(
+                line(10L, 100L, 2, "5.00"),
+                line(11L, 100L, 1, "20.00"),
+                line(10L, 100L, 1, "5.00")));
+        when(rollupRepository.findOrderSales(1L)).thenReturn(after);
+
+        salesRollupService.recordChange(OrderSales.none(1L));
+
+        SalesTotals daily = single(captureDaily());
+        assertThat(daily.getOrderCount()).isEqualTo(1);
+        assertThat(daily.getUnits()).isEqualTo(4);
+        assertThat(daily.getRevenue()).isEqualByComparingTo("35.00");
+
+        SalesTotals category = single(captureCategories());
+        assertThat(category.getCategoryId()).isEqualTo(100L);
+        assertThat(category.getOrderCount()).isEqualTo(1);
+        assertThat(category.getUnits()).isEqualTo(4);
+
+        List<SalesTotals> products = captureProducts();
+        assertThat(products).extracting(SalesTotals::getProductId).containsExactly(10L, 11L);
+        assertThat(products).extracting(SalesTotals::getOrderCount).containsExactly(1L, 1L);
+        assertThat(products).extracting(SalesTotals::getUnits).containsExactly(3L, 1L);
+
+        InOrder order = inOrder(entityManager, rollupRepository);
+        order.verify(entityManager).flush();
+        order.verify(rollupRepository).findOrderSales(1L);
+        order.verify(rollupRepository).lockDayShared(DAY);
+    }
+
+    @Test
+    void createdOrderCountsItemsUnderTheirCategoryAtPurchase() {
+        Category current = new Category();
+        current.setId(200L);
+        Product product = new Product();
+        product.setId(10L);
+        product.setCategory(current);
+        Order order = new Order();
+        order.setId(1L);
+        order.setStatus("PENDING");
+        order.setCreatedAt(DAY.atTime(9, 0));
+        OrderItem item = new OrderItem();
+        item.setProduct(product);
+        item.setCategoryId(100L);
+        item.setQuantity(2);
+        item.setPriceAtPurchase(new BigDecimal("5.00"));
+
+        salesRollupService.recordCreated(order, List.of(item));
+
+        assertThat(single(captureCategories()).getCategoryId()).isEqualTo(100L);
+        assertThat(single(captureProducts()).getCategoryId()).isEqualTo(100L);
+    }
+
+    @Test
+    void statusChangeMovesTotalsBetweenStatuses() {
+        OrderSales before = new OrderSales(1L, DAY, "PAID", List.of(line(10L, 100L, 2, "5.00")));
+
+        salesRollupService.recordStatusChange(before, "SHIPPED");
+
+        List<SalesTotals> daily = captureDaily();
+        assertThat(daily).extracting(SalesTotals::getStatus).containsExactly("PAID", "SHIPPED");
+        assertThat(daily).extracting(SalesTotals::getOrderCount).containsExactly(-1L, 1L);
+        assertThat(daily).extracting(SalesTotals::getUnits).containsExactly(-2L, 2L);
+        assertThat(captureProducts()).extracting(SalesTotals::getOrderCount).containsExactly(-1L, 1L);
+        verify(rollupRepository, never()).findOrderSales(any());
+    }
+
+    @Test
+    void quantityChangeKeepsOrderCount() {
+        OrderSales before = new OrderSales(1L, DAY, "PENDING", List.of(line(10L, 100L, 2, "5.00")));
+        when(rollupRepository.findOrderSales(1L))
+                .thenReturn(new OrderSales(1L, DAY, "PENDING", List.of(line(10L, 100L, 5, "5.00"))));
+
+        salesRollupService.recordChange(before);
+
+        SalesTotals daily = single(captureDaily());
+        assertThat(daily.getOrderCount()).isZero();
+        assertThat(daily.getUnits()).isEqualTo(3);
+        assertThat(daily.getRevenue()).isEqualByComparingTo("15.00");
+        assertThat(single(captureProducts()).getOrderCount()).isZero();
+    }
+
+    @Test
+    void unchangedOrderWritesNothing() {
+        OrderSales before = new OrderSales(1L, DAY, "PENDING", List.of(line(10L, 100L, 2, "5.00")));
+        when(rollupRepository.findOrderSales(1L)).thenReturn(before);
+
+        salesRollupService.recordChange(before);
+
+        verify(rollupRepository, never()).lockDayShared(any());
+        verify(rollupRepository, never()).applyDaily(any());
+        verify(rollupRepository, never()).applyCategories(any());
+        verify(rollupRepository, never()).applyProducts(any());
+    }
+
+    @Test
+    void captureLocksOrderBeforeReadingIt() {
+        OrderSales current = OrderSales.none(4L);
+        when(rollupRepository.findOrderSales(4L)).thenReturn(current);
+
+        assertThat(salesRollupService.capture(4L)).isSameAs(current);
+
+        InOrder order = inOrder(rollupRepository);
+        order.verify(rollupRepository).lockOrder(4L);
+        order.verify(rollupRepository).findOrderSales(4L);
+    }
+
+    @Test
+    void reportExcludesCancelledOrdersByDefault() {
+        salesRollupService.report(DAY, DAY.plusDays(7), "category", null, null);
+
+        verify(rollupRepository).findSales(eq(SalesGrouping.CATEGORY), eq(DAY), eq(DAY.plusDays(7)),
+                statuses.capture(), eq(SalesRollupServiceImpl.DEFAULT_LIMIT));
+        assertThat(statuses.getValue()).contains("PENDING", "DELIVERED").doesNotContain("CANCELLED");
+    }
+
+    @Test
+    void reportRejectsInvalidParameters() {
+        assertThatThrownBy(() -> salesRollupService.report(DAY, DAY, "day", null, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> salesRollupService.report(DAY, DAY.plusDays(1), "week", null, null))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> salesRollupService.report(DAY, DAY.plusDays(1), "day", List.of("lost"), null))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> salesRollupService.report(DAY, DAY.plusDays(1), "day", null, 0))
+                .isInstanceOf(ResponseStatusException.class);
+        verify(rollupRepository, never()).findSales(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void rebuildRecomputesEachDayUnderExclusiveLock() {
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        when(rollupRepository.rebuildDay(any())).thenReturn(4L);
+
+        SalesRebuildReport report = salesRollupService.rebuild(DAY, DAY.plusDays(3));
+
+        assertThat(report.getDays()).isEqualTo(3);
+        assertThat(report.getRowsWritten()).isEqualTo(12);
+        verify(rollupRepository, times(3)).lockDayExclusive(any());
+        verify(rollupRepository).rebuildDay(DAY.plusDays(2));
+    }
+
+    @Test
+    void rebuildWithoutOrdersDoesNothing() {
+        when(rollupRepository.findFirstOrderDate()).thenReturn(null);
+
+        assertThat(salesRollupService.rebuild(null, null).getDays()).isZero();
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    private static OrderSales.Line line(Long productId, Long categoryId, long quantity, String price) {
+        return new OrderSales.Line(productId, categoryId, quantity, new BigDecimal(price));
+    }
+
+    private static SalesTotals single(List<SalesTotals> rows) {
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+
+    private List<SalesTotals> captureDaily() {
+        verify(rollupRepository).applyDaily(totals.capture());
+        return totals.getValue();
+    }
+
+    private List<SalesTotals> captureCategories() {
+        verify(rollupRepository).applyCategories(totals.capture());
+        return totals.getValue();
+    }
+
+    private List<SalesTotals> captureProducts() {
+        verify(rollupRepository).applyProducts(totals.capture());
+        return totals.getValue();
+    }
+}
@@ -0,0 +1,116 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.FinalprojectApplication;
+import finalproject.com.example.demo.dto.stock.StockRequest;
+import finalproject.com.example.demo.dto.stock.StockResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs thousands of single-unit checkouts against a real PostgreSQL at once and checks that
+ * exactly the available stock is sold. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(classes = FinalprojectApplication.class, properties = {
+        "spring.datasource.hikari.maximum-pool-size=72",
+        "spring.jpa.show-sql=false"
+})
+class StockConcurrencyTest {
+
+    private static final int STOCK = 500;
+    private static final int ORDERS = 2000;
+    private static final int THREADS = 64;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shardedStockIsNeverOversold() throws Exception {
+        assertNoOverselling(8);
+    }
+
+    @Test
+    void singleSlotStockIsNeverOversold() throws Exception {
+        assertNoOverselling(1);
+    }
+
+    private void assertNoOverselling(int slots) throws Exception {
+        Long productId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM t_products", Long.class);
+        jdbcTemplate.update("DELETE FROM t_stock_reservations WHERE product_id = ?", productId);
+        StockRequest request = new StockRequest();
+        request.setAvailable(STOCK);
+        request.setSlots(slots);
+        stockService.setStock(productId, request);
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> orders = new ArrayList<>(ORDERS);
+            for (int i = 0; i < ORDERS; i++) {
+                long orderId = i + 1;
+                orders.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        transactionTemplate.executeWithoutResult(
+                                status -> stockService.reserve(orderId, Map.of(productId, 1)));
+                        sold.incrementAndGet();
+                    } catch (ResponseStatusException ex) {
+                        refused.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> order : orders) {
+                order.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(sold).hasValue(STOCK);
+        assertThat(refused).hasValue(ORDERS - STOCK);
+
+        StockResponse stock = stockService.getStock(productId).orElseThrow();
+        assertThat(stock.getAvailable()).isZero();
+        assertThat(stock.getSlots()).isEqualTo(slots);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT MIN(quantity) FROM t_product_stock_slots WHERE product_id = ?", Integer.class, productId))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity) FROM t_stock_reservations WHERE product_id = ?", Integer.class, productId))
+                .isEqualTo(STOCK);
+    }
+}
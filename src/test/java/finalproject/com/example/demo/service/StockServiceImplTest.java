@@ -0,0 +1,175 @@
+package finalproject.com.example.demo.service;
+
+import finalproject.com.example.demo.dto.stock.StockRequest;
+import finalproject.com.example.demo.dto.stock.StockResponse;
+import finalproject.com.example.demo.repository.ProductRepository;
+import finalproject.com.example.demo.repository.StockRepository;
+import finalproject.com.example.demo.repository.StockReservation;
+import finalproject.com.example.demo.repository.StockSlot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockServiceImplTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Captor
+    private ArgumentCaptor<List<StockReservation>> reservations;
+
+    @InjectMocks
+    private StockServiceImpl stockService;
+
+    @Test
+    void reserveTakesEachProductWithOneUpdateInIdOrder() {
+        when(stockRepository.takeFromAnySlot(3L, 2)).thenReturn(5);
+        when(stockRepository.takeFromAnySlot(8L, 1)).thenReturn(0);
+        Map<Long, Integer> cart = new LinkedHashMap<>();
+        cart.put(8L, 1);
+        cart.put(3L, 2);
+
+        stockService.reserve(100L, cart);
+
+        InOrder order = inOrder(stockRepository);
+        order.verify(stockRepository).takeFromAnySlot(3L, 2);
+        order.verify(stockRepository).takeFromAnySlot(8L, 1);
+        List<StockReservation> saved = captureSaved();
+        assertThat(saved).extracting(StockReservation::getProductId).containsExactly(3L, 8L);
+        assertThat(saved).extracting(StockReservation::getSlot).containsExactly(5, 0);
+        assertThat(saved).extracting(StockReservation::getOrderId).containsOnly(100L);
+        verify(stockRepository, never()).lockSlots(any());
+    }
+
+    @Test
+    void reserveGathersQuantityFromSeveralSlotsWhenNoneHasEnough() {
+        when(stockRepository.takeFromAnySlot(3L, 5)).thenReturn(null);
+        when(stockRepository.lockSlots(3L)).thenReturn(List.of(new StockSlot(0, 2), new StockSlot(1, 0), new StockSlot(2, 4)));
+        when(stockRepository.takeFromSlot(eq(3L), anyInt(), anyInt())).thenReturn(true);
+
+        stockService.reserve(100L, Map.of(3L, 5));
+
+        verify(stockRepository).takeFromSlot(3L, 0, 2);
+        verify(stockRepository).takeFromSlot(3L, 2, 3);
+        verify(stockRepository, never()).takeFromSlot(3L, 1, 0);
+        assertThat(captureSaved()).extracting(StockReservation::getQuantity).containsExactly(2, 3);
+    }
+
+    @Test
+    void reserveRejectsShortageWithConflict() {
+        when(stockRepository.takeFromAnySlot(3L, 5)).thenReturn(null);
+        when(stockRepository.lockSlots(3L)).thenReturn(List.of(new StockSlot(0, 2), new StockSlot(1, 2)));
+
+        assertThatThrownBy(() -> stockService.reserve(100L, Map.of(3L, 5)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        verify(stockRepository, never()).takeFromSlot(any(), anyInt(), anyInt());
+        verify(stockRepository, never()).saveReservations(any());
+    }
+
+    @Test
+    void reserveIgnoresUntrackedProducts() {
+        when(stockRepository.takeFromAnySlot(3L, 5)).thenReturn(null);
+        when(stockRepository.lockSlots(3L)).thenReturn(List.of());
+
+        stockService.reserve(100L, Map.of(3L, 5));
+
+        verify(stockRepository, never()).saveReservations(any());
+    }
+
+    @Test
+    void releaseRestoresReservationsInSlotOrder() {
+        when(stockRepository.deleteReservations(100L)).thenReturn(List.of(
+                new StockReservation(100L, 8L, 0, 1),
+                new StockReservation(100L, 3L, 4, 2),
+                new StockReservation(100L, 3L, 1, 3)));
+
+        stockService.release(100L);
+
+        verify(stockRepository).restore(reservations.capture());
+        assertThat(reservations.getValue()).extracting(StockReservation::getSlot).containsExactly(1, 4, 0);
+    }
+
+    @Test
+    void releaseWithoutReservationsWritesNothing() {
+        when(stockRepository.deleteReservations(100L)).thenReturn(List.of());
+
+        stockService.release(100L);
+
+        verify(stockRepository, never()).restore(any());
+    }
+
+    @Test
+    void setStockSpreadsQuantityOverSlots() {
+        when(productRepository.existsById(3L)).thenReturn(true);
+
+        StockResponse response = stockService.setStock(3L, stockRequest(10, 4)).orElseThrow();
+
+        assertThat(response.getAvailable()).isEqualTo(10);
+        assertThat(response.getSlots()).isEqualTo(4);
+        verify(stockRepository).replaceSlots(3L, new int[]{3, 3, 2, 2});
+    }
+
+    @Test
+    void setStockKeepsCurrentSlotCountWhenNoneGiven() {
+        when(productRepository.existsById(3L)).thenReturn(true);
+        when(stockRepository.lockSlots(3L)).thenReturn(List.of(new StockSlot(0, 1), new StockSlot(1, 1)));
+
+        stockService.setStock(3L, stockRequest(5, null));
+
+        verify(stockRepository).replaceSlots(3L, new int[]{3, 2});
+    }
+
+    @Test
+    void setStockReturnsEmptyForUnknownProduct() {
+        when(productRepository.existsById(3L)).thenReturn(false);
+
+        assertThat(stockService.setStock(3L, stockRequest(5, 1))).isEmpty();
+        verify(stockRepository, never()).replaceSlots(any(), any());
+    }
+
+    @Test
+    void setStockRejectsTooManySlots() {
+        when(productRepository.existsById(3L)).thenReturn(true);
+
+        assertThatThrownBy(() -> stockService.setStock(3L, stockRequest(5, StockServiceImpl.MAX_SLOTS + 1)))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private List<StockReservation> captureSaved() {
+        verify(stockRepository).saveReservations(reservations.capture());
+        return reservations.getValue();
+    }
+
+    private static StockRequest stockRequest(int available, Integer slots) {
+        StockRequest request = new StockRequest();
+        request.setAvailable(available);
+        request.setSlots(slots);
+        return request;
+    }
+}
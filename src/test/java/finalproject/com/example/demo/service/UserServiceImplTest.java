@@ -1,11 +1,14 @@
 package finalproject.com.example.demo.service;
 
+import finalproject.com.example.demo.cache.UserDetailsCache;
+import finalproject.com.example.demo.dto.user.UpdateProfileRequest;
 import finalproject.com.example.demo.dto.user.UserResponse;
 import finalproject.com.example.demo.entity.Role;
 import finalproject.com.example.demo.entity.User;
 import finalproject.com.example.demo.mapper.UserMapper;
 import finalproject.com.example.demo.repository.RoleRepository;
 import finalproject.com.example.demo.repository.UserRepository;
+import finalproject.com.example.demo.security.jwt.TokenRevocations;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,21 +18,26 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -50,10 +58,13 @@ class UserServiceImplTest {
     private SecurityContext securityContext;
 
     @Mock
-    private Authentication authentication;
+    private UserMapper userMapper;
 
     @Mock
-    private UserMapper userMapper;
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private TokenRevocations tokenRevocations;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -70,7 +81,7 @@ class UserServiceImplTest {
         user.setBlocked(false);
         user.setCreatedAt(LocalDateTime.now());
 
-        when(userMapper.toResponse(any(User.class))).thenReturn(
+        lenient().when(userMapper.toResponse(any(User.class))).thenReturn(
                 new UserResponse(1L, "user@example.com", "User One", false, user.getCreatedAt(), List.of("ROLE_USER"))
         );
     }
@@ -82,9 +93,16 @@ class UserServiceImplTest {
 
     @Test
     void loadUserByUsernameReturnsUserWhenFound() {
+        Role role = new Role();
+        role.setRole("ROLE_USER");
+        user.setRoles(List.of(role));
         when(userRepository.findByEmail("user@example.com")).thenReturn(user);
 
-        assertThat(userService.loadUserByUsername("user@example.com")).isEqualTo(user);
+        UserDetails details = userService.loadUserByUsername("user@example.com");
+
+        assertThat(details.getUsername()).isEqualTo("user@example.com");
+        assertThat(details.getPassword()).isEqualTo("encoded");
+        assertThat(details.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
         verify(userRepository).findByEmail("user@example.com");
     }
 
@@ -97,9 +115,7 @@ class UserServiceImplTest {
 
     @Test
     void getCurrentUserReturnsPrincipalWhenAuthenticated() {
-        when(authentication.getPrincipal()).thenReturn(user);
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
+        authenticateAs(user);
 
         assertThat(userService.getCurrentUser()).isEqualTo(user);
     }
@@ -164,10 +180,8 @@ class UserServiceImplTest {
 
     @Test
     void changePasswordThrowsWhenOldPasswordMismatch() {
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getPrincipal()).thenReturn(user);
+        authenticateAs(user);
         when(passwordEncoder.matches("old", user.getPassword())).thenReturn(false);
-        SecurityContextHolder.setContext(securityContext);
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class,
                 () -> userService.changePassword("old", "new", "new"));
@@ -178,10 +192,8 @@ class UserServiceImplTest {
 
     @Test
     void changePasswordThrowsWhenNewPasswordsMismatch() {
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getPrincipal()).thenReturn(user);
+        authenticateAs(user);
         when(passwordEncoder.matches("old", user.getPassword())).thenReturn(true);
-        SecurityContextHolder.setContext(securityContext);
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class,
                 () -> userService.changePassword("old", "new", "different"));
@@ -193,15 +205,72 @@ class UserServiceImplTest {
 
     @Test
     void changePasswordUpdatesPasswordWhenValid() {
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getPrincipal()).thenReturn(user);
+        authenticateAs(user);
         when(passwordEncoder.matches("old", user.getPassword())).thenReturn(true);
         when(passwordEncoder.encode("new")).thenReturn("encodedNew");
-        SecurityContextHolder.setContext(securityContext);
 
         userService.changePassword("old", "new", "new");
 
         verify(passwordEncoder).encode("new");
         verify(userRepository).save(user);
+        verify(tokenRevocations).revokeBefore(1L, 1);
+    }
+
+    @Test
+    void updateProfileEvictsCachedPrincipalUnderOldAndNewEmail() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new org.springframework.security.core.userdetails.User("user@example.com", "encoded", List.of()),
+                null,
+                List.of()
+        ));
+        when(userRepository.findByEmail("user@example.com")).thenReturn(user);
+        when(userRepository.findByEmail("renamed@example.com")).thenReturn(null);
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setEmail("renamed@example.com");
+        request.setFullName("User One");
+
+        userService.updateProfile(request);
+
+        verify(userRepository).save(user);
+        verify(userDetailsCache).invalidate("user@example.com");
+        verify(userDetailsCache).invalidate("renamed@example.com");
+        verify(tokenRevocations).revokeBefore(1L, 1);
+    }
+
+    @Test
+    void blockUserEvictsCachedPrincipal() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        userService.blockUser(1L);
+
+        assertThat(user.isBlocked()).isTrue();
+        assertThat(user.getTokenVersion()).isEqualTo(1);
+        verify(userRepository).save(user);
+        verify(tokenRevocations).revokeBefore(1L, 1);
+        verify(userDetailsCache).invalidate("user@example.com");
+    }
+
+    @Test
+    void deleteUserEvictsCachedPrincipal() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        userService.deleteUser(1L);
+
+        verify(userRepository).deleteById(1L);
+        verify(tokenRevocations).revokeBefore(1L, TokenRevocations.ALL);
+        verify(userDetailsCache).invalidate("user@example.com");
+    }
+
+    /**
+     * Signs in the way the JWT filter does: the principal is a Spring Security user, and the
+     * service looks the entity up again by email.
+     */
+    private void authenticateAs(User account) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new org.springframework.security.core.userdetails.User(account.getEmail(), account.getPassword(), List.of()),
+                null,
+                List.of()
+        ));
+        when(userRepository.findByEmail(account.getEmail())).thenReturn(account);
     }
 }